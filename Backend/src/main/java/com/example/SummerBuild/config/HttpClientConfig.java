@@ -0,0 +1,95 @@
+package com.example.SummerBuild.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shared HTTP client for every call to Supabase (auth, admin and storage APIs).
+ *
+ * <p>Connections are pooled and kept alive, so requests reuse an open TLS connection instead of
+ * handshaking each time. Every wait is bounded: opening a connection, leasing one from the pool and
+ * waiting for the response.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Value("${supabase.http.max-connections:100}")
+  private int maxConnections;
+
+  @Value("${supabase.http.max-connections-per-route:50}")
+  private int maxConnectionsPerRoute;
+
+  @Value("${supabase.http.connect-timeout:2s}")
+  private Duration connectTimeout;
+
+  @Value("${supabase.http.connection-request-timeout:2s}")
+  private Duration connectionRequestTimeout;
+
+  @Value("${supabase.http.response-timeout:30s}")
+  private Duration responseTimeout;
+
+  @Value("${supabase.http.idle-timeout:30s}")
+  private Duration idleTimeout;
+
+  @Bean(destroyMethod = "close")
+  public PoolingHttpClientConnectionManager supabaseConnectionManager() {
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(maxConnections)
+        .setMaxConnPerRoute(maxConnectionsPerRoute)
+        .setDefaultConnectionConfig(
+            ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                .setSocketTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                // Check connections that sat idle before reuse; the server may have closed them
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+        .build();
+  }
+
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient supabaseHttpClient(
+      PoolingHttpClientConnectionManager supabaseConnectionManager) {
+    return HttpClients.custom()
+        .setConnectionManager(supabaseConnectionManager)
+        .setDefaultRequestConfig(
+            RequestConfig.custom()
+                .setConnectionRequestTimeout(
+                    Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                .build())
+        .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+        .evictExpiredConnections()
+        .build();
+  }
+
+  @Bean
+  public RestTemplate restTemplate(
+      RestTemplateBuilder restTemplateBuilder, CloseableHttpClient supabaseHttpClient) {
+    return restTemplateBuilder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(supabaseHttpClient))
+        .build();
+  }
+
+  /** Publishes httpcomponents.httpclient.pool.* gauges (leased, pending, available, max). */
+  @Bean
+  public MeterBinder supabaseConnectionPoolMetrics(
+      PoolingHttpClientConnectionManager supabaseConnectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(
+        supabaseConnectionManager, "supabase");
+  }
+}
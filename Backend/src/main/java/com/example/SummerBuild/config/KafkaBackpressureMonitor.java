@@ -0,0 +1,78 @@
+package com.example.SummerBuild.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pauses the Kafka listener containers while the Hikari pool is saturated and resumes them once it
+ * drains, so a backlog on a topic turns into consumer lag instead of requests queueing for
+ * connections.
+ *
+ * <p>Paused containers keep polling without fetching records, so their partitions stay assigned.
+ * Saturation is the share of the pool's connections in use, or any thread waiting for one; the gap
+ * between the two thresholds keeps the containers from flapping.
+ */
+@Component
+public class KafkaBackpressureMonitor {
+
+  private static final Logger logger = LoggerFactory.getLogger(KafkaBackpressureMonitor.class);
+
+  private final KafkaListenerEndpointRegistry registry;
+  private final HikariDataSource hikari;
+  private final double pauseAbove;
+  private final double resumeBelow;
+  private boolean paused;
+
+  public KafkaBackpressureMonitor(
+      KafkaListenerEndpointRegistry registry,
+      DataSource dataSource,
+      @Value("${kafka.consumer.backpressure.pause-above:0.9}") double pauseAbove,
+      @Value("${kafka.consumer.backpressure.resume-below:0.5}") double resumeBelow)
+      throws SQLException {
+    this.registry = registry;
+    // Other pools (such as in tests) are left alone
+    this.hikari =
+        dataSource.isWrapperFor(HikariDataSource.class)
+            ? dataSource.unwrap(HikariDataSource.class)
+            : null;
+    this.pauseAbove = pauseAbove;
+    this.resumeBelow = resumeBelow;
+  }
+
+  @Scheduled(fixedDelayString = "${kafka.consumer.backpressure.check-interval-ms:1000}")
+  public void check() {
+    // The pool only exists once the first connection has been requested
+    HikariPoolMXBean pool = hikari == null ? null : hikari.getHikariPoolMXBean();
+    if (pool == null || pool.getTotalConnections() == 0) {
+      return;
+    }
+
+    double usage = (double) pool.getActiveConnections() / pool.getTotalConnections();
+    boolean saturated = pool.getThreadsAwaitingConnection() > 0 || usage >= pauseAbove;
+    if (!paused && saturated) {
+      registry.getListenerContainers().forEach(MessageListenerContainer::pause);
+      paused = true;
+      logger.warn(
+          "Database pool saturated ({} active, {} waiting), pausing Kafka listeners",
+          pool.getActiveConnections(),
+          pool.getThreadsAwaitingConnection());
+    } else if (paused && !saturated && usage < resumeBelow) {
+      registry.getListenerContainers().forEach(MessageListenerContainer::resume);
+      paused = false;
+      logger.info("Database pool drained, resuming Kafka listeners");
+    }
+  }
+
+  boolean isPaused() {
+    return paused;
+  }
+}
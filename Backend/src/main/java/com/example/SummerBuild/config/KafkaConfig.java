@@ -1,19 +1,34 @@
 package com.example.SummerBuild.config;
 
+import com.example.SummerBuild.dto.DomainEventMessage;
+import com.example.SummerBuild.dto.RegistrationRequest;
+import com.example.SummerBuild.service.RegistrationQueueService;
+import com.example.SummerBuild.util.DatabaseErrors;
+import com.example.SummerBuild.util.DomainEventSerializer;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 @Configuration
 public class KafkaConfig {
@@ -24,9 +39,38 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    // Batch consumers, see batchKafkaListenerContainerFactory
+    @Value("${kafka.consumer.batch.concurrency:3}")
+    private int batchConcurrency;
+
+    @Value("${kafka.consumer.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${kafka.consumer.batch.fetch-min-bytes:16384}")
+    private int batchFetchMinBytes;
+
+    @Value("${kafka.consumer.batch.fetch-max-wait-ms:100}")
+    private int batchFetchMaxWaitMs;
+
+    @Value("${kafka.consumer.batch.max-partition-fetch-bytes:1048576}")
+    private int batchMaxPartitionFetchBytes;
+
+    @Value("${kafka.consumer.retry.max-retries:3}")
+    private int retryMaxRetries;
+
+    @Value("${kafka.consumer.retry.initial-interval-ms:500}")
+    private long retryInitialIntervalMs;
+
+    @Value("${kafka.consumer.retry.max-interval-ms:10000}")
+    private long retryMaxIntervalMs;
+
     // Producer Configuration
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProps());
+    }
+
+    private Map<String, Object> producerProps() {
         Map<String, Object> configProps = new HashMap<>();
 
         // Point to broker
@@ -49,7 +93,7 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
         configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 10000);
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return configProps;
     }
 
     // Spring provided helper to send messages to Kafka topics
@@ -58,9 +102,40 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    // Domain events use their own compact binary encoding instead of JSON with type headers
+    @Bean
+    public ProducerFactory<String, DomainEventMessage> domainEventProducerFactory() {
+        Map<String, Object> configProps = producerProps();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, DomainEventSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, DomainEventMessage> domainEventKafkaTemplate() {
+        return new KafkaTemplate<>(domainEventProducerFactory());
+    }
+
+    // Records that could not be deserialised are dead-lettered with their original bytes, which the
+    // JSON serializer would write as a base64 string
+    @Bean
+    public ProducerFactory<String, byte[]> deadLetterBytesProducerFactory() {
+        Map<String, Object> configProps = producerProps();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterBytesKafkaTemplate() {
+        return new KafkaTemplate<>(deadLetterBytesProducerFactory());
+    }
+
     // Consumer Configuration
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProps());
+    }
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> configProps = new HashMap<>();
 
         // Point to broker
@@ -81,6 +156,21 @@ public class KafkaConfig {
         // Configure JsonDeserializer to trust all packages (for development)
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         
+        return configProps;
+    }
+
+    // Larger polls and fetches for batch listeners, which trade a little latency for throughput
+    @Bean
+    public ConsumerFactory<String, Object> batchConsumerFactory() {
+        Map<String, Object> configProps = consumerProps();
+        // A record that cannot be deserialised reaches the listener with a null value instead of
+        // failing every poll of its partition
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchFetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchFetchMaxWaitMs);
+        configProps.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, batchMaxPartitionFetchBytes);
         return new DefaultKafkaConsumerFactory<>(configProps);
     }
 
@@ -97,4 +187,46 @@ public class KafkaConfig {
         
         return factory;
     }
-} 
\ No newline at end of file
+
+    // Whole polls are delivered as a List, one consumer thread per partition up to the concurrency.
+    // A failing batch is retried with exponential backoff; once retries run out the records go to
+    // <topic>.DLT. Listeners that throw BatchListenerFailedException only retry from that record.
+    // Failures caused by the database being unavailable are retried until it is back instead, and a
+    // queued registration is rejected before it is dead-lettered so its ticket does not stay PENDING.
+    // KafkaBackpressureMonitor pauses these containers while the database pool is saturated.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ObjectProvider<RegistrationQueueService> registrationQueueService) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(batchConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+
+        // Partition -1 lets the producer pick, so the DLT does not need the source's partition count.
+        // Templates are picked by value type in order, raw bytes first
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, deadLetterBytesKafkaTemplate());
+        templates.put(Object.class, kafkaTemplate());
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> new TopicPartition(record.topic() + ".DLT", -1));
+        ConsumerRecordRecoverer rejectingRecoverer = (record, exception) -> {
+            if (record.value() instanceof RegistrationRequest request) {
+                registrationQueueService.ifAvailable(service -> service.rejectUnprocessable(request));
+            }
+            recoverer.accept(record, exception);
+        };
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(retryMaxRetries);
+        backOff.setInitialInterval(retryInitialIntervalMs);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(retryMaxIntervalMs);
+        ExponentialBackOff untilAvailable = new ExponentialBackOff(retryInitialIntervalMs, 2.0);
+        untilAvailable.setMaxInterval(retryMaxIntervalMs);
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(rejectingRecoverer, backOff);
+        errorHandler.setBackOffFunction(
+                (record, exception) -> DatabaseErrors.isTransient(exception) ? untilAvailable : null);
+        factory.setCommonErrorHandler(errorHandler);
+
+        return factory;
+    }
+}
\ No newline at end of file
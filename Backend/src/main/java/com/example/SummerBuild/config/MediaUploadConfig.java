@@ -0,0 +1,29 @@
+package com.example.SummerBuild.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MediaUploadConfig {
+
+  /**
+   * Workers that push spooled event pictures to storage. Each worker handles one event at a time,
+   * uploading its files in parallel through FileLoaderService.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor mediaUploadExecutor(
+      @Value("${storage.upload.workers:4}") int workers,
+      @Value("${storage.upload.queue-capacity:100}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(workers);
+    executor.setMaxPoolSize(workers);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("media-upload-");
+    // Let queued uploads finish on shutdown instead of leaving events PENDING
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(60);
+    return executor;
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.SummerBuild.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+  public static final String OUTBOX_RELAY_SCHEDULER = "outboxRelayScheduler";
+
+  /**
+   * Default scheduler of the {@code @Scheduled} jobs, configured by {@code
+   * spring.task.scheduling.*}. Declared here because Spring Boot backs off its own once another
+   * scheduler bean exists.
+   */
+  @Bean
+  public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+    return builder.build();
+  }
+
+  /** OutboxRelay waits on Kafka acknowledgements, so it gets a thread of its own. */
+  @Bean(OUTBOX_RELAY_SCHEDULER)
+  public ThreadPoolTaskScheduler outboxRelayScheduler() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("outbox-relay-");
+    return scheduler;
+  }
+}
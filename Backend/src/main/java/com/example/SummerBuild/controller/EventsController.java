@@ -1,18 +1,30 @@
 package com.example.SummerBuild.controller;
 
+import com.example.SummerBuild.dto.EventTitleDto;
 import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.dto.EventsPageDto;
+import com.example.SummerBuild.model.MediaStatus;
+import com.example.SummerBuild.service.EventDetailsCache;
+import com.example.SummerBuild.service.EventMediaService;
 import com.example.SummerBuild.service.EventsService;
 import com.example.SummerBuild.util.FileLoaderService;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Encoding;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -28,20 +40,128 @@ public class EventsController {
 
   private final EventsService eventsService;
   private final FileLoaderService fileLoaderService;
+  private final EventMediaService eventMediaService;
   private static final Logger logger = LoggerFactory.getLogger(EventsController.class);
 
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * Lists events ordered by start time, one keyset page at a time.
+   *
+   * <p>The body stays a plain JSON array; when more rows exist the continuation token is returned
+   * in the {@value #NEXT_CURSOR_HEADER} header and can be passed back as {@code cursor}.
+   *
+   * <p>{@code tags} keeps events carrying any of the given tags, or all of them with {@code
+   * allTags=true}. {@code available=true} leaves out events that are full. {@code participantUuid}
+   * lists the events a user registered for, with their details, instead of one request per
+   * registration.
+   */
   @GetMapping
-  public ResponseEntity<List<EventsDto>> getAllEvents() {
-    logger.info("GET /api/events - Fetching all events");
-    List<EventsDto> events = eventsService.findAll();
-    return ResponseEntity.ok(events);
+  public ResponseEntity<List<EventsDto>> getAllEvents(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) UUID hostUuid,
+      @RequestParam(required = false) UUID participantUuid,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) List<String> tags,
+      @RequestParam(defaultValue = "false") boolean allTags,
+      @RequestParam(defaultValue = "false") boolean available) {
+    logger.info("GET /api/events - Fetching events page, cursor: {}, limit: {}", cursor, limit);
+    EventsFilter filter =
+        EventsFilter.builder()
+            .hostUuid(hostUuid)
+            .participantUuid(participantUuid)
+            .startFrom(from)
+            .startTo(to)
+            .tagsAny(allTags ? null : tags)
+            .tagsAll(allTags ? tags : null)
+            .availableOnly(available)
+            .build();
+    EventsPageDto page = eventsService.findPage(filter, cursor, limit);
+    return withNextCursor(page);
+  }
+
+  /**
+   * Lists events that have not started yet, paginated like {@link #getAllEvents}. With {@code
+   * available}, full events are left out.
+   */
+  @GetMapping("/upcoming")
+  public ResponseEntity<List<EventsDto>> getUpcomingEvents(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(defaultValue = "false") boolean available) {
+    logger.info("GET /api/events/upcoming - Fetching page, cursor: {}, limit: {}", cursor, limit);
+    return withNextCursor(eventsService.findUpcoming(cursor, limit, available));
   }
 
-  @GetMapping("/{id}")
-  public ResponseEntity<EventsDto> getEventById(@PathVariable UUID id) {
+  /** Lists events that are taking place right now, paginated like {@link #getAllEvents}. */
+  @GetMapping("/active")
+  public ResponseEntity<List<EventsDto>> getActiveEvents(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    logger.info("GET /api/events/active - Fetching page, cursor: {}, limit: {}", cursor, limit);
+    return withNextCursor(eventsService.findActive(cursor, limit));
+  }
+
+  /**
+   * Lists events taking place at some point between {@code from} and {@code to}, such as the days
+   * shown by a calendar view, paginated like {@link #getAllEvents}.
+   */
+  @GetMapping("/window")
+  public ResponseEntity<List<EventsDto>> getEventsInWindow(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    logger.info("GET /api/events/window - Fetching events from {} to {}", from, to);
+    return withNextCursor(eventsService.findOverlapping(from, to, cursor, limit));
+  }
+
+  /** Searches event titles and descriptions, best matches first, with typo tolerance. */
+  @GetMapping("/search")
+  public ResponseEntity<List<EventsDto>> searchEvents(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "" + EventsService.DEFAULT_PAGE_SIZE) int size) {
+    logger.info("GET /api/events/search - Searching for: {}, page: {}", q, page);
+    return ResponseEntity.ok(eventsService.search(q, page, size));
+  }
+
+  /** Suggests upcoming events as the user types a title, served from memory. */
+  @GetMapping("/autocomplete")
+  public ResponseEntity<List<EventTitleDto>> autocompleteTitles(
+      @RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(eventsService.autocomplete(q, limit));
+  }
+
+  /**
+   * Serves the event's cached JSON as is, without going through Jackson on a cache hit.
+   *
+   * <p>The response carries an ETag of the JSON, so clients polling an event revalidate it and get
+   * an empty 304 while it is unchanged. There is no Last-Modified, as seat counts change without
+   * touching updatedAt. Event details are the same for every user, so shared caches may keep them
+   * but must revalidate each time.
+   */
+  @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ApiResponse(
+      responseCode = "200",
+      description = "Successfully retrieved event",
+      content =
+          @Content(
+              mediaType = MediaType.APPLICATION_JSON_VALUE,
+              schema = @Schema(implementation = EventsDto.class)))
+  @ApiResponse(responseCode = "304", description = "Event not modified")
+  public ResponseEntity<byte[]> getEventById(@PathVariable UUID id) {
     logger.info("GET /api/events/{} - Fetching event by ID", id);
-    EventsDto event = eventsService.findById(id);
-    return ResponseEntity.ok(event);
+    EventDetailsCache.Entry event = eventsService.findCachedById(id);
+    return ResponseEntity.ok()
+        .eTag(event.etag())
+        .cacheControl(CacheControl.noCache().cachePublic())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(event.json());
   }
 
   @PostMapping(consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
@@ -71,14 +191,15 @@ public class EventsController {
 
     UUID eventUuid = createdEvent.getId();
 
-    logger.info("inserting images for event into bucket: {}", eventUuid);
-    String serverReply = fileLoaderService.uploadFile(files, eventUuid, hostUuid);
-    if (serverReply == null || !serverReply.equals("Files uploaded successfully")) {
-      logger.error("File upload failed for event: {}. Server response: {}", eventUuid, serverReply);
-      logger.error("File upload failed: {}", serverReply != null ? serverReply : "Unknown error");
-
-      // look at logs for more details cause i cant return a string here
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    if (files != null && !files.isEmpty()) {
+      // Pictures go to storage in the background, clients poll the event's mediaStatus
+      logger.info("queueing images for event into bucket: {}", eventUuid);
+      try {
+        createdEvent.setMediaStatus(eventMediaService.submit(eventUuid, hostUuid, files));
+      } catch (UncheckedIOException e) {
+        logger.error("Could not queue files for event: {}", eventUuid, e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+      }
     }
 
     return ResponseEntity.status(HttpStatus.CREATED).body(createdEvent);
@@ -111,14 +232,13 @@ public class EventsController {
       return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
     }
 
+    MediaStatus mediaStatus = null;
     if (files != null && !files.isEmpty()) {
-      logger.info("Updating event with ID: {} and uploading new files", id);
-      String serverReply = fileLoaderService.uploadFile(files, id, hostUuid);
-      if (serverReply == null || !serverReply.equals("Files uploaded successfully")) {
-        logger.error("File upload failed for event: {}. Server response: {}", id, serverReply);
-
-        // same thing here, look at logs for more details cause i cant return a string
-        // here
+      logger.info("Updating event with ID: {} and queueing new files", id);
+      try {
+        mediaStatus = eventMediaService.submit(id, hostUuid, files);
+      } catch (UncheckedIOException e) {
+        logger.error("Could not queue files for event: {}", id, e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
       }
     } else {
@@ -126,6 +246,9 @@ public class EventsController {
     }
 
     EventsDto updatedEvent = eventsService.update(id, eventsDto);
+    if (mediaStatus != null) {
+      updatedEvent.setMediaStatus(mediaStatus);
+    }
     return ResponseEntity.ok(updatedEvent);
   }
 
@@ -137,9 +260,16 @@ public class EventsController {
   }
 
   @GetMapping("/host/{hostUuid}")
-  public ResponseEntity<List<EventsDto>> getEventsByHost(@PathVariable UUID hostUuid) {
-    logger.info("GET /api/events/host/{} - Fetching events by host", hostUuid);
-    List<EventsDto> events = eventsService.findByHostUuid(hostUuid);
+  public ResponseEntity<List<EventsDto>> getEventsByHost(
+      @PathVariable UUID hostUuid,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "" + EventsService.DEFAULT_PAGE_SIZE) int size) {
+    logger.info(
+        "GET /api/events/host/{} - Fetching events by host, page: {}, size: {}",
+        hostUuid,
+        page,
+        size);
+    List<EventsDto> events = eventsService.findByHostUuid(hostUuid, page, size);
     return ResponseEntity.ok(events);
   }
 
@@ -181,4 +311,12 @@ public class EventsController {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
   }
+
+  private ResponseEntity<List<EventsDto>> withNextCursor(EventsPageDto page) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.hasMore()) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(page.getItems());
+  }
 }
@@ -1,17 +1,25 @@
 package com.example.SummerBuild.controller;
 
+import com.example.SummerBuild.dto.BulkParticipationResultDto;
 import com.example.SummerBuild.dto.ParticipatesDto;
+import com.example.SummerBuild.dto.RegistrationTicketDto;
+import com.example.SummerBuild.service.BulkParticipationService;
 import com.example.SummerBuild.service.ParticipatesService;
+import com.example.SummerBuild.service.ParticipatesService.EventFullException;
+import com.example.SummerBuild.service.RegistrationQueueService;
+import com.example.SummerBuild.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
 public class ParticipatesController {
 
   private final ParticipatesService participatesService;
+  private final RegistrationQueueService registrationQueueService;
+  private final BulkParticipationService bulkParticipationService;
   private static final Logger logger = LoggerFactory.getLogger(ParticipatesController.class);
 
   @PostMapping("/register")
@@ -35,11 +45,62 @@ public class ParticipatesController {
       ParticipatesDto participation =
           participatesService.addParticipation(request.getUserId(), request.getEventId());
       return ResponseEntity.status(HttpStatus.CREATED).body(participation);
+    } catch (EventFullException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
     } catch (IllegalArgumentException e) {
       return ResponseEntity.badRequest().build();
     }
   }
 
+  @PostMapping("/register/bulk")
+  @Operation(
+      summary = "Register participations in bulk",
+      description =
+          "Register many users for events at once, as far as seats allow, with one outcome per"
+              + " pair in request order")
+  @ApiResponse(responseCode = "200", description = "Participations processed")
+  @ApiResponse(responseCode = "400", description = "Too many or incomplete participations")
+  public ResponseEntity<List<BulkParticipationResultDto>> registerEvents(
+      @RequestBody List<ParticipatesDto> requests) {
+    try {
+      return ResponseEntity.ok(bulkParticipationService.registerAll(requests));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @PostMapping("/register/queued")
+  @Operation(
+      summary = "Queue a registration",
+      description =
+          "Queue a registration for an event with a rush of sign-ups and poll the returned ticket"
+              + " for the outcome")
+  @ApiResponse(responseCode = "202", description = "Registration queued")
+  @ApiResponse(responseCode = "503", description = "Queued registration is unavailable")
+  public ResponseEntity<RegistrationTicketDto> queueRegistration(
+      @RequestBody ParticipatesDto request) {
+    try {
+      RegistrationTicketDto ticket =
+          registrationQueueService.enqueue(request.getUserId(), request.getEventId());
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/participates/tickets/" + ticket.getTicketId()))
+          .body(ticket);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/tickets/{ticketId}")
+  @Operation(
+      summary = "Get registration ticket",
+      description = "Get the outcome of a queued registration, PENDING while it is in the queue")
+  @ApiResponse(responseCode = "200", description = "Successfully retrieved ticket")
+  @ApiResponse(responseCode = "404", description = "Ticket never issued or expired")
+  public ResponseEntity<RegistrationTicketDto> getRegistrationTicket(
+      @Parameter(description = "Ticket ID") @PathVariable UUID ticketId) {
+    return ResponseEntity.ok(registrationQueueService.getTicket(ticketId));
+  }
+
   @DeleteMapping("/unregister")
   public ResponseEntity<Void> unregisterEvent(@RequestBody ParticipatesDto request) {
     try {
@@ -50,24 +111,44 @@ public class ParticipatesController {
     }
   }
 
+  @DeleteMapping("/unregister/bulk")
+  @Operation(
+      summary = "Unregister participations in bulk",
+      description =
+          "Unregister many users from events at once, with one outcome per pair in request order")
+  @ApiResponse(responseCode = "200", description = "Participations processed")
+  @ApiResponse(responseCode = "400", description = "Too many or incomplete participations")
+  public ResponseEntity<List<BulkParticipationResultDto>> unregisterEvents(
+      @RequestBody List<ParticipatesDto> requests) {
+    try {
+      return ResponseEntity.ok(bulkParticipationService.unregisterAll(requests));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   @GetMapping("/user/{userId}")
   @Operation(
       summary = "Get user participations",
-      description = "Get all events a user is participating in")
+      description =
+          "Get all events a user is participating in, as participations. GET"
+              + " /api/events?participantUuid= returns the events themselves, in one request")
   @ApiResponse(responseCode = "200", description = "Successfully retrieved user participations")
+  @ApiResponse(responseCode = "304", description = "User participations not modified")
   public ResponseEntity<List<ParticipatesDto>> getUserParticipations(
       @Parameter(description = "User ID") @PathVariable UUID userId) {
     List<ParticipatesDto> participations = participatesService.getUserParticipations(userId);
-    return ResponseEntity.ok(participations);
+    return versioned(participations);
   }
 
   @GetMapping("/event/{eventId}")
   @Operation(summary = "Get event participants", description = "Get all participants for an event")
   @ApiResponse(responseCode = "200", description = "Successfully retrieved event participants")
+  @ApiResponse(responseCode = "304", description = "Event participants not modified")
   public ResponseEntity<List<ParticipatesDto>> getEventParticipants(
       @Parameter(description = "Event ID") @PathVariable UUID eventId) {
     List<ParticipatesDto> participants = participatesService.getEventParticipants(eventId);
-    return ResponseEntity.ok(participants);
+    return versioned(participants);
   }
 
   @GetMapping("/check")
@@ -119,9 +200,31 @@ public class ParticipatesController {
       summary = "Get participation by ID",
       description = "Get a specific participation by its ID")
   @ApiResponse(responseCode = "200", description = "Successfully retrieved participation")
+  @ApiResponse(responseCode = "304", description = "Participation not modified")
   public ResponseEntity<ParticipatesDto> getParticipationById(
       @Parameter(description = "Participation ID") @PathVariable UUID id) {
     Optional<ParticipatesDto> participation = participatesService.getParticipationById(id);
-    return participation.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    return participation
+        .map(
+            found ->
+                ETags.validators(
+                        ResponseEntity.ok(),
+                        ETags.ofCollection(List.of(found), ParticipatesDto::getId),
+                        found.getUpdatedAt())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(found))
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Tags a list of participations with its version, so pollers revalidate it and get an empty 304
+   * while nobody joined or left. Lists have no Last-Modified, as removing a participation does not
+   * move the newest {@code updatedAt}.
+   */
+  private ResponseEntity<List<ParticipatesDto>> versioned(List<ParticipatesDto> participations) {
+    return ResponseEntity.ok()
+        .eTag(ETags.ofCollection(participations, ParticipatesDto::getId))
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .body(participations);
   }
 }
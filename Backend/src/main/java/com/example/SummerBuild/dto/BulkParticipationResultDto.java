@@ -0,0 +1,35 @@
+package com.example.SummerBuild.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkParticipationResultDto {
+
+  public enum Status {
+    REGISTERED,
+    UNREGISTERED,
+    ALREADY_PARTICIPATING,
+    NOT_PARTICIPATING,
+    EVENT_FULL,
+    EVENT_NOT_FOUND,
+    USER_NOT_FOUND,
+    // The pair could not be applied and nothing changed for it, it may be retried
+    FAILED
+  }
+
+  private UUID userId;
+  private UUID eventId;
+  private Status status;
+
+  // The participation created or removed
+  private UUID participationId;
+}
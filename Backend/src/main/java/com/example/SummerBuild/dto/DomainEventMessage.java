@@ -0,0 +1,31 @@
+package com.example.SummerBuild.dto;
+
+import com.example.SummerBuild.model.DomainEventType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Kafka value published for every outbox row, encoded by DomainEventSerializer.
+ *
+ * <p>Delivery is at least once, so consumers should skip ids they have already processed.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DomainEventMessage {
+
+  // Outbox row id, unique per message
+  private final long id;
+  private final DomainEventType type;
+  private final LocalDateTime occurredAt;
+
+  // Record matching the type, see DomainEventPayload#typeOf
+  private final DomainEventPayload payload;
+
+  public UUID getAggregateId() {
+    return payload.aggregateId();
+  }
+}
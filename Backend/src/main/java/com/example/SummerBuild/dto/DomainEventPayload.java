@@ -0,0 +1,73 @@
+package com.example.SummerBuild.dto;
+
+import com.example.SummerBuild.model.DomainEventType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Typed body of a domain event, one record per kind of change.
+ *
+ * <p>Component names match EventsDto and ParticipatesDto, so the JSON stored in the outbox reads
+ * back into these records.
+ */
+public sealed interface DomainEventPayload {
+
+  /** Id of the event the change belongs to, used as the Kafka key */
+  UUID aggregateId();
+
+  /** EVENT_CREATED and EVENT_UPDATED: the event as committed */
+  record Event(
+      UUID id,
+      UUID hostUuid,
+      String title,
+      String description,
+      Integer capacity,
+      LocalDateTime startTime,
+      LocalDateTime endTime,
+      List<String> tags)
+      implements DomainEventPayload {
+
+    public static Event from(EventsDto dto) {
+      return new Event(
+          dto.getId(),
+          dto.getHostUuid(),
+          dto.getTitle(),
+          dto.getDescription(),
+          dto.getCapacity(),
+          dto.getStartTime(),
+          dto.getEndTime(),
+          dto.getTags());
+    }
+
+    @Override
+    public UUID aggregateId() {
+      return id;
+    }
+  }
+
+  /** EVENT_DELETED */
+  record EventDeleted(UUID id) implements DomainEventPayload {
+    @Override
+    public UUID aggregateId() {
+      return id;
+    }
+  }
+
+  /** PARTICIPANT_ADDED and PARTICIPANT_REMOVED, id being the participation's */
+  record Participant(UUID id, UUID userId, UUID eventId) implements DomainEventPayload {
+    @Override
+    public UUID aggregateId() {
+      return eventId;
+    }
+  }
+
+  /** The payload record carried by a type of domain event */
+  static Class<? extends DomainEventPayload> typeOf(DomainEventType type) {
+    return switch (type) {
+      case EVENT_CREATED, EVENT_UPDATED -> Event.class;
+      case EVENT_DELETED -> EventDeleted.class;
+      case PARTICIPANT_ADDED, PARTICIPANT_REMOVED -> Participant.class;
+    };
+  }
+}
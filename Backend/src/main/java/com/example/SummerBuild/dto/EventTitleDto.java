@@ -0,0 +1,15 @@
+package com.example.SummerBuild.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Title suggestion for search-as-you-type, immutable as it is shared by the in-memory index. */
+@Getter
+@AllArgsConstructor
+public class EventTitleDto {
+  private final UUID id;
+  private final String title;
+  private final LocalDateTime startTime;
+}
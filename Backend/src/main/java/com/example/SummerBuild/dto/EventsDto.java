@@ -1,5 +1,6 @@
 package com.example.SummerBuild.dto;
 
+import com.example.SummerBuild.model.MediaStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -47,4 +48,12 @@ public class EventsDto extends BaseDto {
   private String description;
 
   private List<String> tags;
+
+  // Server-managed, null when the event has no capacity
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Integer seatsRemaining;
+
+  // Server-managed, poll it after submitting pictures
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private MediaStatus mediaStatus;
 }
@@ -0,0 +1,36 @@
+package com.example.SummerBuild.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+/** Optional server-side filters for the events listing. Null fields are not applied. */
+@Data
+@Builder
+public class EventsFilter {
+
+  private UUID hostUuid;
+
+  // Events the user is registered for
+  private UUID participantUuid;
+
+  // Inclusive lower bound on start time
+  private LocalDateTime startFrom;
+
+  // Exclusive upper bound on start time
+  private LocalDateTime startTo;
+
+  // Exclusive lower bound on end time, with startTo it selects events overlapping a window
+  private LocalDateTime endAfter;
+
+  // Events carrying at least one of these tags
+  private List<String> tagsAny;
+
+  // Events carrying every one of these tags
+  private List<String> tagsAll;
+
+  // Only events with seats left, events without a capacity always have some
+  private boolean availableOnly;
+}
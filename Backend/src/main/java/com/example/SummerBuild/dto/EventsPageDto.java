@@ -0,0 +1,20 @@
+package com.example.SummerBuild.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** One keyset-paginated page of events, plus the token to fetch the next one. */
+@Getter
+@AllArgsConstructor
+public class EventsPageDto {
+
+  private final List<EventsDto> items;
+
+  // Null when this is the last page
+  private final String nextCursor;
+
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.SummerBuild.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Outcome of uploading one file of a multi-file request to storage. */
+@Getter
+@AllArgsConstructor
+public class FileUploadResult {
+
+  public enum Status {
+    UPLOADED,
+    FAILED,
+    // Not attempted because another file of the same request failed
+    SKIPPED,
+    // Uploaded, then deleted again because another file of the same request failed
+    ROLLED_BACK,
+    // Uploaded over an object of the same name, kept even if another file fails
+    REPLACED
+  }
+
+  private final String fileName;
+  private final Status status;
+
+  // Failure reason, null unless the status is FAILED
+  private final String message;
+
+  public static FileUploadResult uploaded(String fileName) {
+    return new FileUploadResult(fileName, Status.UPLOADED, null);
+  }
+
+  public static FileUploadResult failed(String fileName, String message) {
+    return new FileUploadResult(fileName, Status.FAILED, message);
+  }
+
+  public static FileUploadResult replaced(String fileName) {
+    return new FileUploadResult(fileName, Status.REPLACED, null);
+  }
+
+  public static FileUploadResult skipped(String fileName) {
+    return new FileUploadResult(fileName, Status.SKIPPED, null);
+  }
+
+  public FileUploadResult rolledBack() {
+    return new FileUploadResult(fileName, Status.ROLLED_BACK, null);
+  }
+
+  public boolean isUploaded() {
+    return status == Status.UPLOADED || status == Status.REPLACED;
+  }
+
+  public static boolean allUploaded(List<FileUploadResult> results) {
+    return results.stream().allMatch(FileUploadResult::isUploaded);
+  }
+}
@@ -0,0 +1,18 @@
+package com.example.SummerBuild.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** Kafka value of a queued registration, keyed by event id. */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationRequest {
+  private UUID ticketId;
+  private UUID userId;
+  private UUID eventId;
+  private LocalDateTime requestedAt;
+}
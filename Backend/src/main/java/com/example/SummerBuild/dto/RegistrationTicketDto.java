@@ -0,0 +1,30 @@
+package com.example.SummerBuild.dto;
+
+import com.example.SummerBuild.model.RegistrationStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegistrationTicketDto {
+  private UUID ticketId;
+  private UUID userId;
+  private UUID eventId;
+  private RegistrationStatus status;
+
+  // Set once the registration went through
+  private UUID participationId;
+
+  // Reason for a REJECTED outcome
+  private String message;
+
+  private LocalDateTime processedAt;
+}
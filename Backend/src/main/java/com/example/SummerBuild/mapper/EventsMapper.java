@@ -2,7 +2,7 @@ package com.example.SummerBuild.mapper;
 
 import com.example.SummerBuild.dto.EventsDto;
 import com.example.SummerBuild.model.Events;
-import java.util.UUID;
+import java.util.ArrayList;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -24,12 +24,46 @@ public class EventsMapper implements GenericMapper<Events, EventsDto> {
     dto.setDescription(entity.getDescription());
     dto.setTags(
         java.util.Arrays.asList(entity.getTags() != null ? entity.getTags() : new String[0]));
+    dto.setMediaStatus(entity.getMediaStatus());
+    // Lowering the capacity below the registrations leaves the event full, not negative
+    dto.setSeatsRemaining(
+        entity.getCapacity() != null
+            ? Math.max(entity.getCapacity() - entity.getSeatsTaken(), 0)
+            : null);
     dto.setCreatedAt(entity.getCreatedAt());
     dto.setUpdatedAt(entity.getUpdatedAt());
 
     return dto;
   }
 
+  /**
+   * Copies a dto, so a shared instance such as a cached one can be handed out.
+   *
+   * @param dto the dto to copy
+   * @return an independent dto with the same values
+   */
+  public EventsDto copy(EventsDto dto) {
+    if (dto == null) {
+      return null;
+    }
+
+    EventsDto copy = new EventsDto();
+    copy.setId(dto.getId());
+    copy.setTitle(dto.getTitle());
+    copy.setHostUuid(dto.getHostUuid());
+    copy.setCapacity(dto.getCapacity());
+    copy.setStartTime(dto.getStartTime());
+    copy.setEndTime(dto.getEndTime());
+    copy.setDescription(dto.getDescription());
+    copy.setTags(dto.getTags() != null ? new ArrayList<>(dto.getTags()) : null);
+    copy.setMediaStatus(dto.getMediaStatus());
+    copy.setSeatsRemaining(dto.getSeatsRemaining());
+    copy.setCreatedAt(dto.getCreatedAt());
+    copy.setUpdatedAt(dto.getUpdatedAt());
+
+    return copy;
+  }
+
   @Override
   public Events toEntity(EventsDto dto) {
     if (dto == null) {
@@ -37,7 +71,7 @@ public class EventsMapper implements GenericMapper<Events, EventsDto> {
     }
 
     Events entity = new Events();
-    entity.setId(dto.getId() != null ? dto.getId() : UUID.randomUUID());
+    // The id is generated when the entity is persisted
     entity.setTitle(dto.getTitle());
     entity.setHostId(dto.getHostUuid());
     entity.setCapacity(dto.getCapacity());
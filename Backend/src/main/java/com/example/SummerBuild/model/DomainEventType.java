@@ -0,0 +1,9 @@
+package com.example.SummerBuild.model;
+
+public enum DomainEventType {
+  EVENT_CREATED,
+  EVENT_UPDATED,
+  EVENT_DELETED,
+  PARTICIPANT_ADDED,
+  PARTICIPANT_REMOVED
+}
@@ -1,5 +1,6 @@
 package com.example.SummerBuild.model;
 
+import com.example.SummerBuild.util.UuidV7Generator;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -8,10 +9,15 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "events")
 @Getter
 @Setter
@@ -20,7 +26,7 @@ import org.hibernate.type.SqlTypes;
 @Builder
 public class Events extends BaseEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   @Column(name = "id", nullable = false, columnDefinition = "UUID")
   private UUID id;
 
@@ -37,6 +43,11 @@ public class Events extends BaseEntity {
   @Column(name = "capacity")
   private Integer capacity;
 
+  // Maintained only by the conditional updates in EventsRepository, never written by Hibernate
+  @Builder.Default
+  @Column(name = "seats_taken", nullable = false, insertable = false, updatable = false)
+  private int seatsTaken = 0;
+
   @Column(name = "start_time", nullable = false)
   private LocalDateTime startTime;
 
@@ -46,6 +57,12 @@ public class Events extends BaseEntity {
   @Column(name = "description", length = 255)
   private String description;
 
+  // Written by EventMediaService only, so a concurrent event update cannot overwrite it
+  @Builder.Default
+  @Enumerated(EnumType.STRING)
+  @Column(name = "media_status", nullable = false, length = 20, updatable = false)
+  private MediaStatus mediaStatus = MediaStatus.NONE;
+
   @JdbcTypeCode(SqlTypes.ARRAY)
   @Column(name = "tag", columnDefinition = "text[]")
   private String[] tags;
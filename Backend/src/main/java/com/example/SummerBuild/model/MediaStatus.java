@@ -0,0 +1,10 @@
+package com.example.SummerBuild.model;
+
+public enum MediaStatus {
+  // No pictures were submitted
+  NONE,
+  // Pictures are queued or being uploaded to storage
+  PENDING,
+  READY,
+  FAILED
+}
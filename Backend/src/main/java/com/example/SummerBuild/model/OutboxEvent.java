@@ -0,0 +1,57 @@
+package com.example.SummerBuild.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/** A domain event waiting in the outbox table to be relayed to Kafka. */
+@Entity
+@Table(name = "outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id", nullable = false)
+  private Long id;
+
+  // Event id for every type, so one event's changes land on one partition in order
+  @Column(name = "aggregate_id", nullable = false)
+  private UUID aggregateId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false, length = 50)
+  private DomainEventType eventType;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+  private JsonNode payload;
+
+  @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  // The relay state below is maintained only by the updates in OutboxRepository
+
+  // End of the lease of the relay sending this row, null while nobody is
+  @Column(name = "claimed_until", insertable = false, updatable = false)
+  private LocalDateTime claimedUntil;
+
+  @Builder.Default
+  @Column(name = "attempts", nullable = false, insertable = false, updatable = false)
+  private int attempts = 0;
+
+  // Set once the row is given up on, it is no longer relayed
+  @Column(name = "parked_at", insertable = false, updatable = false)
+  private LocalDateTime parkedAt;
+}
@@ -1,5 +1,6 @@
 package com.example.SummerBuild.model;
 
+import com.example.SummerBuild.util.UuidV7Generator;
 import jakarta.persistence.*;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -7,8 +8,13 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(
     name = "participates",
     uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}))
@@ -20,7 +26,7 @@ import lombok.Setter;
 public class Participates extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   @Column(name = "id", nullable = false, columnDefinition = "UUID")
   private UUID id;
 
@@ -0,0 +1,9 @@
+package com.example.SummerBuild.model;
+
+public enum RegistrationStatus {
+  // Still in the queue
+  PENDING,
+  REGISTERED,
+  EVENT_FULL,
+  REJECTED
+}
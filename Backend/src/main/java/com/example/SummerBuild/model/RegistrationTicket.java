@@ -0,0 +1,64 @@
+package com.example.SummerBuild.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A queued registration, keyed by the ticket id handed to the client. Stored as PENDING when the
+ * ticket is issued and given its outcome by the consumer.
+ */
+@Entity
+@Table(name = "registration_tickets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegistrationTicket implements Persistable<UUID> {
+  @Id
+  @Column(name = "id", nullable = false, columnDefinition = "UUID")
+  private UUID id;
+
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Column(name = "event_id", nullable = false)
+  private UUID eventId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private RegistrationStatus status;
+
+  @Column(name = "participation_id")
+  private UUID participationId;
+
+  @Column(name = "message", length = 255)
+  private String message;
+
+  @Column(name = "processed_at")
+  private LocalDateTime processedAt;
+
+  @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  // Ids are chosen at enqueue time, so save() tells new tickets apart by this flag, not the id
+  @Transient @Builder.Default private boolean isNew = true;
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    isNew = false;
+  }
+}
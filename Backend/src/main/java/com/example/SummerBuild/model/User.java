@@ -8,8 +8,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
 @Getter
 @Setter
@@ -18,8 +22,8 @@ import lombok.Setter;
 @Builder
 public class User extends BaseEntity {
 
+  // Assigned by Supabase Auth at sign-up
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
   @Column(name = "id", nullable = false, columnDefinition = "UUID")
   private UUID id;
 
@@ -31,6 +35,11 @@ public class User extends BaseEntity {
   @Column(name = "gender", nullable = false)
   private Gender gender;
 
+  // Maintained only by the counter updates in UserRepository, never written by Hibernate
+  @Builder.Default
+  @Column(name = "events_joined", nullable = false, insertable = false, updatable = false)
+  private int eventsJoined = 0;
+
   @OneToMany(mappedBy = "host", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private List<Events> hostedEvents;
 }
@@ -1,35 +1,246 @@
 package com.example.SummerBuild.repository;
 
+import com.example.SummerBuild.dto.EventTitleDto;
 import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.MediaStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface EventsRepository extends GenericRepository<Events, UUID> {
+public interface EventsRepository
+    extends GenericRepository<Events, UUID>, JpaSpecificationExecutor<Events> {
 
-  // Future custom query ideas (implementations can be added when needed):
+  /**
+   * Query space of the native seats_taken updates below. No entity maps to it, so they leave the
+   * Events cache region in place and callers evict the changed row through EntityCacheEvictor.
+   */
+  String COUNTER_SPACE = "events_seats_taken";
+
+  /**
+   * Query space of {@link #updateMediaStatus}, for the same reason: callers evict the event through
+   * EntityCacheEvictor instead of the whole Events region being dropped.
+   */
+  String MEDIA_STATUS_SPACE = "events_media_status";
+
+  // Filtered, keyset-paginated listings are built from EventsSpecifications and run through
+  // JpaSpecificationExecutor#findBy
+
+  /**
+   * Finds one page of the events hosted by a user, served by idx_events_host_id.
+   *
+   * @param hostId UUID of the host
+   * @param pageable page request, including the sort order
+   * @return the requested slice, without a total count query
+   */
+  Slice<Events> findByHostId(UUID hostId, Pageable pageable);
+
+  /**
+   * Loads the titles of the events starting at or after a time, for the autocomplete index.
+   *
+   * @param from inclusive lower bound on start time
+   * @return id, title and start time of each event, unordered
+   */
+  @Query(
+      "SELECT new com.example.SummerBuild.dto.EventTitleDto(e.id, e.title, e.startTime)"
+          + " FROM Events e WHERE e.startTime >= :from")
+  List<EventTitleDto> findTitlesStartingFrom(@Param("from") LocalDateTime from);
+
+  /**
+   * Full-text search over titles and descriptions, best matches first, served by idx_events_search.
+   * Words are matched after stemming and title words weigh more.
+   *
+   * @param query the user's input, in web search syntax ("quoted phrases", or, -excluded)
+   * @param pageable page request; its sort is ignored, results are ordered by rank then id
+   * @return the requested slice, without a total count query
+   */
+  @Query(
+      value =
+          "SELECT e.* FROM events e, websearch_to_tsquery('english', :query) q"
+              + " WHERE e.search_vector @@ q ORDER BY ts_rank(e.search_vector, q) DESC, e.id",
+      nativeQuery = true)
+  Slice<Events> search(@Param("query") String query, Pageable pageable);
+
+  /** Whether {@link #search} finds anything at all for the query. */
+  @Query(
+      value =
+          "SELECT EXISTS (SELECT 1 FROM events"
+              + " WHERE search_vector @@ websearch_to_tsquery('english', :query))",
+      nativeQuery = true)
+  boolean existsByText(@Param("query") String query);
+
+  /**
+   * Fuzzy search over titles, closest first, served by idx_events_title_trgm. Catches misspelled
+   * words that full-text search cannot match, at pg_trgm's word similarity threshold.
+   *
+   * @param query the user's input, matched as plain text
+   * @param pageable page request; its sort is ignored, results are ordered by similarity then id
+   * @return the requested slice, without a total count query
+   */
+  @Query(
+      value =
+          "SELECT e.* FROM events e WHERE :query <% e.title"
+              + " ORDER BY word_similarity(:query, e.title) DESC, e.id",
+      nativeQuery = true)
+  Slice<Events> searchSimilarTitles(@Param("query") String query, Pageable pageable);
 
-  // Find events by host UUID
-  // List<Events> findByHostUuid(UUID hostUuid);
+  /**
+   * Takes one seat of an event if any is left. The check and the increment are a single statement,
+   * so concurrent registrations only queue on the event's row lock and can never oversell.
+   *
+   * @param id UUID of the event
+   * @return 1 if a seat was taken, 0 if the event is full or does not exist
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE events SET seats_taken = seats_taken + 1"
+              + " WHERE id = :id AND (capacity IS NULL OR seats_taken < capacity)",
+      nativeQuery = true)
+  int reserveSeat(@Param("id") UUID id);
 
-  // Find events within a date range
-  // List<Events> findByStartTimeBetween(LocalDateTime startDate, LocalDateTime endDate);
+  /**
+   * Locks an event row until the end of the transaction and reads its free seats.
+   *
+   * @param id UUID of the event
+   * @return seats left, {@link Integer#MAX_VALUE} without a capacity, empty if the event does not
+   *     exist
+   */
+  @Query(
+      value =
+          "SELECT COALESCE(capacity - seats_taken, 2147483647) FROM events WHERE id = :id FOR UPDATE",
+      nativeQuery = true)
+  Optional<Integer> lockSeatsRemaining(@Param("id") UUID id);
 
-  // Find currently active events (started but not ended)
-  // List<Events> findActiveEvents(LocalDateTime currentTime);
+  /**
+   * Takes several seats of an event at once, for batches decided under {@link #lockSeatsRemaining}.
+   *
+   * @param id UUID of the event
+   * @param seats number of seats to take
+   * @return 1 if the seats were taken, 0 if fewer were left
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE events SET seats_taken = seats_taken + :seats WHERE id = :id"
+              + " AND (capacity IS NULL OR seats_taken + :seats <= capacity)",
+      nativeQuery = true)
+  int reserveSeats(@Param("id") UUID id, @Param("seats") int seats);
 
-  // Find upcoming events (not started yet)
-  // List<Events> findUpcomingEvents(LocalDateTime currentTime);
+  /**
+   * Gives back one seat of an event.
+   *
+   * @param id UUID of the event
+   * @return 1 if a seat was released, 0 if none was taken
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value = "UPDATE events SET seats_taken = seats_taken - 1 WHERE id = :id AND seats_taken > 0",
+      nativeQuery = true)
+  int releaseSeat(@Param("id") UUID id);
 
-  // Search events by title (case-insensitive)
-  // List<Events> findByTitleContainingIgnoreCase(String title);
+  /**
+   * Gives back several seats of an event at once.
+   *
+   * @param id UUID of the event
+   * @param seats number of seats to release
+   * @return 1 if the event exists, 0 otherwise
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value = "UPDATE events SET seats_taken = GREATEST(seats_taken - :seats, 0) WHERE id = :id",
+      nativeQuery = true)
+  int releaseSeats(@Param("id") UUID id, @Param("seats") int seats);
 
-  // Find events with available capacity
-  // List<Events> findEventsWithAvailableCapacity();
+  /**
+   * Records the progress of an event's picture upload.
+   *
+   * <p>The status is part of the event, so this bumps {@code updatedAt} like any other change and
+   * clients revalidating the event see it. Callers evict the event from the second-level cache.
+   *
+   * @param id UUID of the event
+   * @param mediaStatus new status
+   * @param updatedAt time of the change
+   * @return 1 if the event exists, 0 otherwise
+   */
+  @Transactional
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = MEDIA_STATUS_SPACE))
+  @Query(
+      value =
+          "UPDATE events SET media_status = :#{#mediaStatus.name()}, updated_at = :updatedAt"
+              + " WHERE id = :id",
+      nativeQuery = true)
+  int updateMediaStatus(
+      @Param("id") UUID id,
+      @Param("mediaStatus") MediaStatus mediaStatus,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Reads the number of participants of an event, a single primary key lookup.
+   *
+   * @param id UUID of the event
+   * @return seats taken, empty if the event does not exist
+   */
+  @Query("SELECT e.seatsTaken FROM Events e WHERE e.id = :id")
+  Optional<Integer> findSeatsTakenById(@Param("id") UUID id);
+
+  /**
+   * Finds events whose seats_taken counter disagrees with their participates rows.
+   *
+   * @return UUIDs of the drifted events
+   */
+  @Query(
+      value =
+          "SELECT e.id FROM events e"
+              + " WHERE e.seats_taken <> (SELECT COUNT(*) FROM participates p WHERE p.event_id = e.id)",
+      nativeQuery = true)
+  List<UUID> findIdsWithSeatsTakenDrift();
+
+  /**
+   * Locks an event row until the end of the transaction.
+   *
+   * @param id UUID of the event
+   * @return the id, empty if the event does not exist
+   */
+  @Query(value = "SELECT id FROM events WHERE id = :id FOR UPDATE", nativeQuery = true)
+  Optional<UUID> lockById(@Param("id") UUID id);
+
+  /**
+   * Recounts an event's seats_taken from participates. Call after {@link #lockById} so the count is
+   * taken once any in-flight reservation has committed.
+   *
+   * @param id UUID of the event
+   * @return 1 if the counter was repaired, 0 if it was already correct
+   */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE events e SET seats_taken = c.taken"
+              + " FROM (SELECT COUNT(*) AS taken FROM participates WHERE event_id = :id) c"
+              + " WHERE e.id = :id AND e.seats_taken <> c.taken",
+      nativeQuery = true)
+  int recountSeatsTaken(@Param("id") UUID id);
+
+  // Future custom query ideas (implementations can be added when needed):
 
   // Count events by host
   // long countByHostUuid(UUID hostUuid);
-
-  // Find events by tags
-  // List<Events> findByTagsIn(List<String> tags);
 }
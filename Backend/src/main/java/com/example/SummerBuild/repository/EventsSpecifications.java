@@ -0,0 +1,153 @@
+package com.example.SummerBuild.repository;
+
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.Participates;
+import com.example.SummerBuild.util.KeysetCursor;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Reusable query predicates for {@link EventsRepository}. */
+public final class EventsSpecifications {
+
+  /** Order used by every keyset-paginated events query, backed by idx_events_start_time_id. */
+  public static final Sort KEYSET_SORT = Sort.by("startTime", "id");
+
+  private EventsSpecifications() {}
+
+  /**
+   * Combines all non-null filters of the given {@link EventsFilter}.
+   *
+   * @param filter the filters to apply, may be null
+   * @return a specification matching every filter
+   */
+  public static Specification<Events> matching(EventsFilter filter) {
+    List<Specification<Events>> specs = new ArrayList<>();
+    if (filter != null) {
+      if (filter.getHostUuid() != null) {
+        specs.add(hostedBy(filter.getHostUuid()));
+      }
+      if (filter.getParticipantUuid() != null) {
+        specs.add(registeredBy(filter.getParticipantUuid()));
+      }
+      if (filter.getStartFrom() != null) {
+        specs.add(startsAtOrAfter(filter.getStartFrom()));
+      }
+      if (filter.getStartTo() != null) {
+        specs.add(startsBefore(filter.getStartTo()));
+      }
+      if (filter.getEndAfter() != null) {
+        specs.add(endsAfter(filter.getEndAfter()));
+      }
+      if (filter.getTagsAny() != null && !filter.getTagsAny().isEmpty()) {
+        specs.add(taggedWithAny(filter.getTagsAny()));
+      }
+      if (filter.getTagsAll() != null && !filter.getTagsAll().isEmpty()) {
+        specs.add(taggedWithAll(filter.getTagsAll()));
+      }
+      if (filter.isAvailableOnly()) {
+        specs.add(withSeatsLeft());
+      }
+    }
+    return Specification.allOf(specs);
+  }
+
+  /**
+   * Rows strictly after the given cursor in {@link #KEYSET_SORT} order.
+   *
+   * <p>The redundant {@code start_time >= ?} term gives the planner an index range bound, the
+   * disjunction alone would otherwise be applied as a filter.
+   *
+   * @param cursor position of the last row of the previous page
+   * @return a specification matching rows after the cursor
+   */
+  public static Specification<Events> after(KeysetCursor cursor) {
+    return (root, query, cb) ->
+        cb.and(
+            cb.greaterThanOrEqualTo(root.get("startTime"), cursor.getStartTime()),
+            cb.or(
+                cb.greaterThan(root.get("startTime"), cursor.getStartTime()),
+                cb.and(
+                    cb.equal(root.get("startTime"), cursor.getStartTime()),
+                    cb.greaterThan(root.get("id"), cursor.getId()))));
+  }
+
+  public static Specification<Events> hostedBy(UUID hostUuid) {
+    return (root, query, cb) -> cb.equal(root.get("hostId"), hostUuid);
+  }
+
+  /**
+   * Events the user is registered for, as a semi-join on participates. The page of events and their
+   * registrations come back in one statement, and the user's rows are found through the (user_id,
+   * event_id) unique index.
+   */
+  public static Specification<Events> registeredBy(UUID userId) {
+    return (root, query, cb) -> {
+      Subquery<UUID> registered = query.subquery(UUID.class);
+      Root<Participates> participates = registered.from(Participates.class);
+      registered
+          .select(participates.get("eventId"))
+          .where(cb.equal(participates.get("userId"), userId));
+      return root.get("id").in(registered);
+    };
+  }
+
+  public static Specification<Events> startsAtOrAfter(LocalDateTime time) {
+    return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startTime"), time);
+  }
+
+  public static Specification<Events> startsBefore(LocalDateTime time) {
+    return (root, query, cb) -> cb.lessThan(root.get("startTime"), time);
+  }
+
+  /** Events still running after the given time, the end_time range uses idx_events_end_time. */
+  public static Specification<Events> endsAfter(LocalDateTime time) {
+    return (root, query, cb) -> cb.greaterThan(root.get("endTime"), time);
+  }
+
+  /** Events sharing a tag with the given ones, {@code tag && ?}, served by idx_events_tag. */
+  public static Specification<Events> taggedWithAny(Collection<String> tags) {
+    return (root, query, cb) -> {
+      HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+      return hcb.arrayIntersects(root.<String[]>get("tags"), textArray(hcb, tags));
+    };
+  }
+
+  /** Events carrying all of the given tags, {@code tag @> ?}, served by idx_events_tag. */
+  public static Specification<Events> taggedWithAll(Collection<String> tags) {
+    return (root, query, cb) -> {
+      HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+      return hcb.arrayIncludes(root.<String[]>get("tags"), textArray(hcb, tags));
+    };
+  }
+
+  /**
+   * Events that are not full. Spelled like the predicate of idx_events_available, so the planner
+   * can prove the partial index covers the query.
+   */
+  public static Specification<Events> withSeatsLeft() {
+    return (root, query, cb) ->
+        cb.or(
+            cb.isNull(root.get("capacity")),
+            cb.lessThan(root.get("seatsTaken"), root.<Integer>get("capacity")));
+  }
+
+  // String arrays are bound as varchar[], which the operators do not accept next to text[]
+  private static Expression<String[]> textArray(
+      HibernateCriteriaBuilder cb, Collection<String> tags) {
+    return cb.function(
+        "sql",
+        String[].class,
+        cb.literal("cast(? as text[])"),
+        cb.value(tags.toArray(String[]::new)));
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.SummerBuild.repository;
+
+import com.example.SummerBuild.model.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /**
+   * Tries to take a transaction-scoped advisory lock, so only one relay instance claims at a time.
+   *
+   * @param key lock key shared by every relay instance
+   * @return true if the lock was taken, false if another transaction holds it
+   */
+  @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+  boolean tryLockRelay(@Param("key") long key);
+
+  /** Whether some relay still holds a lease on a batch at the given time */
+  @Query(
+      "SELECT COUNT(o) > 0 FROM OutboxEvent o"
+          + " WHERE o.parkedAt IS NULL AND o.claimedUntil > :now")
+  boolean existsLeaseAfter(@Param("now") LocalDateTime now);
+
+  /** The oldest rows still to relay, including those of an expired lease */
+  @Query(
+      value = "SELECT * FROM outbox WHERE parked_at IS NULL ORDER BY id LIMIT :limit",
+      nativeQuery = true)
+  List<OutboxEvent> findNextBatch(@Param("limit") int limit);
+
+  /**
+   * Leases rows to the calling relay.
+   *
+   * @param ids rows to lease
+   * @param until end of the lease
+   * @return the number of rows leased
+   */
+  @Modifying
+  @Query("UPDATE OutboxEvent o SET o.claimedUntil = :until WHERE o.id IN :ids")
+  int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+  /** Ends the lease on rows that could not be sent and counts the failed attempt */
+  @Modifying
+  @Query(
+      "UPDATE OutboxEvent o SET o.claimedUntil = NULL, o.attempts = o.attempts + 1"
+          + " WHERE o.id IN :ids")
+  int releaseFailed(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Parks the given rows and those that failed too often, so they stop holding up the rest.
+   *
+   * @param ids rows to park whatever their attempts, such as unreadable ones
+   * @param maxAttempts failed attempts after which a row is parked
+   * @param now time of parking
+   * @return the number of rows parked
+   */
+  @Modifying
+  @Query(
+      "UPDATE OutboxEvent o SET o.parkedAt = :now, o.claimedUntil = NULL"
+          + " WHERE o.parkedAt IS NULL AND (o.id IN :ids OR o.attempts >= :maxAttempts)")
+  int park(
+      @Param("ids") Collection<Long> ids,
+      @Param("maxAttempts") int maxAttempts,
+      @Param("now") LocalDateTime now);
+}
@@ -1,27 +1,111 @@
 package com.example.SummerBuild.repository;
 
 import com.example.SummerBuild.model.Participates;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ParticipatesRepository extends JpaRepository<Participates, UUID> {
 
+  // The lookups below go through the query cache. Hibernate invalidates their cached results
+  // whenever a participates row is saved or deleted through the entity
+
   /** Find all participations for a specific user */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   List<Participates> findByUserId(UUID userId);
 
   /** Find all participations for a specific event */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   List<Participates> findByEventId(UUID eventId);
 
   /** Find a specific participation by user and event */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<Participates> findByUserIdAndEventId(UUID userId, UUID eventId);
 
+  /** Find which of the given users already participate in an event */
+  @Query("SELECT p.userId FROM Participates p WHERE p.eventId = :eventId AND p.userId IN :userIds")
+  Set<UUID> findUserIdsByEventIdAndUserIdIn(
+      @Param("eventId") UUID eventId, @Param("userIds") Collection<UUID> userIds);
+
+  /** Find the participations of the given users in an event */
+  @Query("SELECT p FROM Participates p WHERE p.eventId = :eventId AND p.userId IN :userIds")
+  List<Participates> findByEventIdAndUserIdIn(
+      @Param("eventId") UUID eventId, @Param("userIds") Collection<UUID> userIds);
+
+  /**
+   * Finds and locks the participations of the given users in an event until the end of the
+   * transaction, in user order so concurrent callers lock them in the same order.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT p FROM Participates p WHERE p.eventId = :eventId AND p.userId IN :userIds"
+          + " ORDER BY p.userId")
+  List<Participates> lockByEventIdAndUserIdIn(
+      @Param("eventId") UUID eventId, @Param("userIds") Collection<UUID> userIds);
+
+  /**
+   * Registers several existing users for an event in one statement, skipping unknown users and
+   * those already registered.
+   *
+   * <p>The statement goes around the entity, so Hibernate drops the cached lookups above and the
+   * Participates cache region with it.
+   *
+   * @param eventId UUID of the event
+   * @param ids ids of the new rows, from UuidV7Generator like the entity's
+   * @param userIds users to register, in the same order as their ids
+   * @param createdAt creation time of the new rows
+   * @return the number of participations created
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "participates"))
+  @Query(
+      value =
+          "INSERT INTO participates (id, user_id, event_id, created_at, updated_at)"
+              + " SELECT p.id, p.user_id, :eventId, :createdAt, :createdAt"
+              + " FROM unnest(CAST(:ids AS uuid[]), CAST(:userIds AS uuid[])) AS p(id, user_id)"
+              + " WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = p.user_id)"
+              + " ON CONFLICT (user_id, event_id) DO NOTHING",
+      nativeQuery = true)
+  int insertIgnoringDuplicates(
+      @Param("eventId") UUID eventId,
+      @Param("ids") UUID[] ids,
+      @Param("userIds") UUID[] userIds,
+      @Param("createdAt") LocalDateTime createdAt);
+
+  /** Find the users participating in an event */
+  @Query("SELECT p.userId FROM Participates p WHERE p.eventId = :eventId")
+  List<UUID> findUserIdsByEventId(@Param("eventId") UUID eventId);
+
+  /**
+   * Deletes every participation in an event in one statement.
+   *
+   * <p>Like the insert above, the statement declares the participates query space, so Hibernate
+   * drops the cached lookups and the Participates cache region with it.
+   *
+   * @param eventId UUID of the event
+   * @return the number of participations deleted
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "participates"))
+  @Query(value = "DELETE FROM participates WHERE event_id = :eventId", nativeQuery = true)
+  int deleteAllByEventId(@Param("eventId") UUID eventId);
+
   /** Check if a user is already participating in an event */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   boolean existsByUserIdAndEventId(UUID userId, UUID eventId);
 
   /** Count the number of participants for an event */
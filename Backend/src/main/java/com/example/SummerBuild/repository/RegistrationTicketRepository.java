@@ -0,0 +1,25 @@
+package com.example.SummerBuild.repository;
+
+import com.example.SummerBuild.model.RegistrationTicket;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RegistrationTicketRepository extends JpaRepository<RegistrationTicket, UUID> {
+
+  /**
+   * Deletes the tickets processed before the cutoff, and those issued before it that were never
+   * processed.
+   *
+   * @param cutoff oldest processing or issue time to keep
+   * @return the number of tickets deleted
+   */
+  @Modifying
+  @Query("DELETE FROM RegistrationTicket t WHERE COALESCE(t.processedAt, t.createdAt) < :cutoff")
+  int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
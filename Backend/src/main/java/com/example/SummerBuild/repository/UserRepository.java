@@ -3,16 +3,29 @@ package com.example.SummerBuild.repository;
 import com.example.SummerBuild.model.Gender;
 import com.example.SummerBuild.model.User;
 import com.example.SummerBuild.model.UserRole;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends GenericRepository<User, UUID> {
 
+  /**
+   * Query space of the native events_joined updates below. No entity maps to it, so they leave the
+   * User cache region in place and callers evict the changed row through EntityCacheEvictor.
+   */
+  String COUNTER_SPACE = "users_events_joined";
+
   List<User> findByRole(UserRole role);
 
   List<User> findByGender(Gender gender);
@@ -36,4 +49,100 @@ public interface UserRepository extends GenericRepository<User, UUID> {
    */
   @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
   long countByRole(@Param("role") UserRole role);
+
+  /**
+   * Reads the number of events a user is participating in, a single primary key lookup.
+   *
+   * @param id
+   * @return the counter, empty if the user does not exist
+   */
+  @Query("SELECT u.eventsJoined FROM User u WHERE u.id = :id")
+  Optional<Integer> findEventsJoinedById(@Param("id") UUID id);
+
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value = "UPDATE users SET events_joined = events_joined + 1 WHERE id = :id",
+      nativeQuery = true)
+  int incrementEventsJoined(@Param("id") UUID id);
+
+  /** Find which of the given users exist */
+  @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+  Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE users SET events_joined = events_joined - 1 WHERE id = :id AND events_joined > 0",
+      nativeQuery = true)
+  int decrementEventsJoined(@Param("id") UUID id);
+
+  /**
+   * Adds one joined event to each of several users, locking their rows in id order so concurrent
+   * batches cannot deadlock.
+   *
+   * @return the number of users updated
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE users SET events_joined = events_joined + 1"
+              + " WHERE id IN (SELECT id FROM users WHERE id IN :ids ORDER BY id FOR UPDATE)",
+      nativeQuery = true)
+  int incrementEventsJoined(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Removes one joined event from each of several users, locking their rows in id order.
+   *
+   * @return the number of users updated
+   */
+  @Modifying(flushAutomatically = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE users SET events_joined = events_joined - 1"
+              + " WHERE id IN (SELECT id FROM users WHERE id IN :ids ORDER BY id FOR UPDATE)"
+              + " AND events_joined > 0",
+      nativeQuery = true)
+  int decrementEventsJoined(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Finds users whose events_joined counter disagrees with their participates rows.
+   *
+   * @return UUIDs of the drifted users
+   */
+  @Query(
+      value =
+          "SELECT u.id FROM users u"
+              + " WHERE u.events_joined <> (SELECT COUNT(*) FROM participates p WHERE p.user_id = u.id)",
+      nativeQuery = true)
+  List<UUID> findIdsWithEventsJoinedDrift();
+
+  /**
+   * Locks a user row until the end of the transaction.
+   *
+   * @param id
+   * @return the id, empty if the user does not exist
+   */
+  @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+  Optional<UUID> lockById(@Param("id") UUID id);
+
+  /**
+   * Recounts a user's events_joined from participates. Call after {@link #lockById} so the count is
+   * taken once any in-flight counter update has committed.
+   *
+   * @param id
+   * @return 1 if the counter was repaired, 0 if it was already correct
+   */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COUNTER_SPACE))
+  @Query(
+      value =
+          "UPDATE users u SET events_joined = c.joined"
+              + " FROM (SELECT COUNT(*) AS joined FROM participates WHERE user_id = :id) c"
+              + " WHERE u.id = :id AND u.events_joined <> c.joined",
+      nativeQuery = true)
+  int recountEventsJoined(@Param("id") UUID id);
 }
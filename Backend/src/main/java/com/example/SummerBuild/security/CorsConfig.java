@@ -41,7 +41,9 @@ public class CorsConfig {
             "Accept",
             "Origin",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"));
+            "Access-Control-Request-Headers",
+            "If-None-Match",
+            "If-Modified-Since"));
 
     // Allow credentials (important for authentication)
     configuration.setAllowCredentials(true);
@@ -51,7 +53,13 @@ public class CorsConfig {
 
     // Expose headers that the frontend can access
     configuration.setExposedHeaders(
-        Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        Arrays.asList(
+            "Authorization",
+            "Cache-Control",
+            "Content-Type",
+            "ETag",
+            "Last-Modified",
+            "X-Next-Cursor"));
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
     source.registerCorsConfiguration("/**", configuration);
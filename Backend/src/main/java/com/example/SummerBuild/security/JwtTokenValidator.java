@@ -1,33 +1,111 @@
 package com.example.SummerBuild.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Date;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Verifies Supabase access tokens.
+ *
+ * <p>A client replays the same token on every request until it expires, so verified claims are
+ * cached by the SHA-256 of the token and evicted at the token's {@code exp}. Tokens that fail
+ * verification are never cached.
+ */
 @Component
 public class JwtTokenValidator {
 
-  private final Key key;
+  // Upper bound for tokens that carry no exp claim
+  private static final Duration MAX_CACHE_TTL = Duration.ofHours(1);
+
+  private final JwtParser parser;
+  private final Cache<String, Claims> claimsCache;
   private static final Logger logger = LoggerFactory.getLogger(JwtTokenValidator.class);
 
-  public JwtTokenValidator(@Value("${supabase.jwt.secret}") String secret) {
+  public JwtTokenValidator(
+      @Value("${supabase.jwt.secret}") String secret,
+      @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize,
+      MeterRegistry meterRegistry) {
     byte[] decoded = Base64.getDecoder().decode(secret);
-    this.key = Keys.hmacShaKeyFor(decoded);
+    Key key = Keys.hmacShaKeyFor(decoded);
+    // The parser is immutable and thread-safe
+    this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    this.claimsCache =
+        Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(new ExpiresWithToken())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
   }
 
   public Claims validateToken(String token) {
+    String cacheKey = hash(token);
+    Claims cached = claimsCache.getIfPresent(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
     try {
-      return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+      Claims claims = parser.parseClaimsJws(token).getBody();
+      claimsCache.put(cacheKey, claims);
+      return claims;
     } catch (Exception e) {
       logger.error("Error in validating token: {}", token);
       logger.error("Error message in validating token: {}", e.getMessage());
       return null;
     }
   }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM is required to provide SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Keeps an entry until its token's exp claim, never longer than {@link #MAX_CACHE_TTL}. */
+  private static class ExpiresWithToken implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+        return MAX_CACHE_TTL.toNanos();
+      }
+      long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+      return Duration.ofMillis(Math.max(0, Math.min(remainingMillis, MAX_CACHE_TTL.toMillis())))
+          .toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Claims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
@@ -0,0 +1,261 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.BulkParticipationResultDto;
+import com.example.SummerBuild.dto.BulkParticipationResultDto.Status;
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.dto.ParticipatesDto;
+import com.example.SummerBuild.model.DomainEventType;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.Participates;
+import com.example.SummerBuild.model.User;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import com.example.SummerBuild.util.UuidV7Generator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Registers and unregisters many users at once, for organizers importing attendee lists.
+ *
+ * <p>Pairs are grouped by event and applied in chunks, one transaction per chunk. A chunk costs a
+ * fixed handful of statements whatever its size, where the one-at-a-time path runs several per
+ * user. Every pair gets its own outcome; a chunk that fails rolls back alone, its pairs are
+ * reported as FAILED and the other chunks stay applied.
+ */
+@Service
+public class BulkParticipationService {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkParticipationService.class);
+
+  private final ParticipatesRepository participatesRepository;
+  private final EventsRepository eventsRepository;
+  private final UserRepository userRepository;
+  private final OutboxService outboxService;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final EventDetailsCache eventDetailsCache;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int maxItems;
+
+  public BulkParticipationService(
+      ParticipatesRepository participatesRepository,
+      EventsRepository eventsRepository,
+      UserRepository userRepository,
+      OutboxService outboxService,
+      EntityCacheEvictor entityCacheEvictor,
+      EventDetailsCache eventDetailsCache,
+      PlatformTransactionManager transactionManager,
+      @Value("${participates.bulk.chunk-size:500}") int chunkSize,
+      @Value("${participates.bulk.max-items:10000}") int maxItems) {
+    this.participatesRepository = participatesRepository;
+    this.eventsRepository = eventsRepository;
+    this.userRepository = userRepository;
+    this.outboxService = outboxService;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventDetailsCache = eventDetailsCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.maxItems = maxItems;
+  }
+
+  /**
+   * Registers users for events, as far as seats allow.
+   *
+   * @param requests user and event pairs; a repeated pair shares the outcome of its first
+   *     occurrence
+   * @return one outcome per pair, in request order
+   * @throws IllegalArgumentException if the request is too large or a pair is incomplete
+   */
+  public List<BulkParticipationResultDto> registerAll(List<ParticipatesDto> requests) {
+    logger.info("Registering {} participations in bulk", requests.size());
+    return apply(requests, this::registerChunk);
+  }
+
+  /**
+   * Unregisters users from events.
+   *
+   * @param requests user and event pairs; a repeated pair shares the outcome of its first
+   *     occurrence
+   * @return one outcome per pair, in request order
+   * @throws IllegalArgumentException if the request is too large or a pair is incomplete
+   */
+  public List<BulkParticipationResultDto> unregisterAll(List<ParticipatesDto> requests) {
+    logger.info("Unregistering {} participations in bulk", requests.size());
+    return apply(requests, this::unregisterChunk);
+  }
+
+  private List<BulkParticipationResultDto> apply(
+      List<ParticipatesDto> requests,
+      BiFunction<UUID, List<UUID>, List<BulkParticipationResultDto>> chunkOperation) {
+    if (requests.size() > maxItems) {
+      throw new IllegalArgumentException("At most " + maxItems + " participations per request");
+    }
+    Map<UUID, Set<UUID>> usersByEvent = new LinkedHashMap<>();
+    for (ParticipatesDto request : requests) {
+      if (request == null || request.getUserId() == null || request.getEventId() == null) {
+        throw new IllegalArgumentException("Every participation needs a userId and an eventId");
+      }
+      usersByEvent
+          .computeIfAbsent(request.getEventId(), eventId -> new LinkedHashSet<>())
+          .add(request.getUserId());
+    }
+
+    Map<UUID, Map<UUID, BulkParticipationResultDto>> outcomes = new HashMap<>();
+    usersByEvent.forEach(
+        (eventId, userIds) -> {
+          Map<UUID, BulkParticipationResultDto> byUser = new HashMap<>();
+          List<UUID> users = List.copyOf(userIds);
+          for (int from = 0; from < users.size(); from += chunkSize) {
+            List<UUID> chunk = users.subList(from, Math.min(from + chunkSize, users.size()));
+            List<BulkParticipationResultDto> results;
+            try {
+              results = transactionTemplate.execute(status -> chunkOperation.apply(eventId, chunk));
+            } catch (RuntimeException e) {
+              logger.error(
+                  "Bulk participation chunk of {} users for event {} failed",
+                  chunk.size(),
+                  eventId,
+                  e);
+              results =
+                  chunk.stream()
+                      .map(userId -> result(userId, eventId, Status.FAILED, null))
+                      .toList();
+            }
+            results.forEach(result -> byUser.put(result.getUserId(), result));
+          }
+          outcomes.put(eventId, byUser);
+        });
+
+    return requests.stream()
+        .map(request -> outcomes.get(request.getEventId()).get(request.getUserId()))
+        .toList();
+  }
+
+  private List<BulkParticipationResultDto> registerChunk(UUID eventId, List<UUID> userIds) {
+    List<BulkParticipationResultDto> results = new ArrayList<>(userIds.size());
+    // Holding the event's lock keeps other registrations out until commit, so the checks below
+    // still hold when the rows are inserted
+    Optional<Integer> seatsRemaining = eventsRepository.lockSeatsRemaining(eventId);
+    if (seatsRemaining.isEmpty()) {
+      userIds.forEach(userId -> results.add(result(userId, eventId, Status.EVENT_NOT_FOUND, null)));
+      return results;
+    }
+
+    Set<UUID> knownUsers = userRepository.findExistingIds(userIds);
+    Set<UUID> participating =
+        participatesRepository.findUserIdsByEventIdAndUserIdIn(eventId, userIds);
+    int seatsLeft = seatsRemaining.get();
+    List<UUID> candidates = new ArrayList<>();
+    for (UUID userId : userIds) {
+      if (!knownUsers.contains(userId)) {
+        results.add(result(userId, eventId, Status.USER_NOT_FOUND, null));
+      } else if (participating.contains(userId)) {
+        results.add(result(userId, eventId, Status.ALREADY_PARTICIPATING, null));
+      } else if (seatsLeft == 0) {
+        results.add(result(userId, eventId, Status.EVENT_FULL, null));
+      } else {
+        seatsLeft--;
+        candidates.add(userId);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return results;
+    }
+
+    UUID[] ids = new UUID[candidates.size()];
+    Arrays.setAll(ids, i -> UuidV7Generator.next());
+    participatesRepository.insertIgnoringDuplicates(
+        eventId, ids, candidates.toArray(UUID[]::new), LocalDateTime.now());
+    Map<UUID, Participates> created = new HashMap<>();
+    participatesRepository
+        .findByEventIdAndUserIdIn(eventId, candidates)
+        .forEach(participation -> created.put(participation.getUserId(), participation));
+    if (!created.isEmpty()) {
+      if (eventsRepository.reserveSeats(eventId, created.size()) == 0) {
+        throw new IllegalStateException("Seats of event " + eventId + " changed under its lock");
+      }
+      List<UUID> registered = created.keySet().stream().sorted().toList();
+      userRepository.incrementEventsJoined(registered);
+      entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+      eventDetailsCache.invalidateAfterCommit(eventId);
+      entityCacheEvictor.evictAfterCommit(User.class, registered);
+    }
+
+    for (UUID userId : candidates) {
+      Participates participation = created.get(userId);
+      if (participation == null) {
+        // Deleted since it was checked, the insert skipped it
+        results.add(result(userId, eventId, Status.FAILED, null));
+        continue;
+      }
+      outboxService.record(
+          DomainEventType.PARTICIPANT_ADDED,
+          new DomainEventPayload.Participant(participation.getId(), userId, eventId));
+      results.add(result(userId, eventId, Status.REGISTERED, participation.getId()));
+    }
+    return results;
+  }
+
+  private List<BulkParticipationResultDto> unregisterChunk(UUID eventId, List<UUID> userIds) {
+    List<BulkParticipationResultDto> results = new ArrayList<>(userIds.size());
+    // Rows first, then the event and the users, in the same order as removeParticipation
+    List<Participates> participations =
+        participatesRepository.lockByEventIdAndUserIdIn(eventId, userIds);
+    if (participations.isEmpty() && !eventsRepository.existsById(eventId)) {
+      userIds.forEach(userId -> results.add(result(userId, eventId, Status.EVENT_NOT_FOUND, null)));
+      return results;
+    }
+
+    Map<UUID, Participates> removed = new HashMap<>();
+    participations.forEach(participation -> removed.put(participation.getUserId(), participation));
+    if (!removed.isEmpty()) {
+      participatesRepository.deleteAll(participations);
+      eventsRepository.releaseSeats(eventId, participations.size());
+      List<UUID> unregistered = removed.keySet().stream().sorted().toList();
+      userRepository.decrementEventsJoined(unregistered);
+      entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+      eventDetailsCache.invalidateAfterCommit(eventId);
+      entityCacheEvictor.evictAfterCommit(User.class, unregistered);
+    }
+
+    for (UUID userId : userIds) {
+      Participates participation = removed.get(userId);
+      if (participation == null) {
+        results.add(result(userId, eventId, Status.NOT_PARTICIPATING, null));
+        continue;
+      }
+      outboxService.record(
+          DomainEventType.PARTICIPANT_REMOVED,
+          new DomainEventPayload.Participant(participation.getId(), userId, eventId));
+      results.add(result(userId, eventId, Status.UNREGISTERED, participation.getId()));
+    }
+    return results;
+  }
+
+  private static BulkParticipationResultDto result(
+      UUID userId, UUID eventId, Status status, UUID participationId) {
+    return BulkParticipationResultDto.builder()
+        .userId(userId)
+        .eventId(eventId)
+        .status(status)
+        .participationId(participationId)
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.SummerBuild.service;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts single rows from the second-level cache after they were changed by a native update.
+ *
+ * <p>Hibernate cannot tell which rows a native statement touched, so it would drop the entity's
+ * whole cache region. The counter updates in EventsRepository and UserRepository opt out of that
+ * through their query space, and their callers evict exactly the rows they changed here instead.
+ * Eviction waits for the commit, as a concurrent reader could cache the old row again right after
+ * an earlier one. The region's TTL bounds the small window that remains.
+ */
+@Component
+public class EntityCacheEvictor {
+
+  private final Cache cache;
+
+  public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+    this.cache = entityManagerFactory.getCache();
+  }
+
+  /** Evict one row once the current transaction commits, or right away outside a transaction */
+  public void evictAfterCommit(Class<?> entityClass, Object id) {
+    evictAfterCommit(entityClass, List.of(id));
+  }
+
+  /** Evict rows once the current transaction commits, or right away outside a transaction */
+  public void evictAfterCommit(Class<?> entityClass, Collection<?> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    List<?> pending = List.copyOf(ids);
+    runAfterCommit(() -> pending.forEach(id -> cache.evict(entityClass, id)));
+  }
+
+  /** Run an action once the current transaction commits, or right away outside a transaction */
+  static void runAfterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.util.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of event details, in front of {@code GET /api/events/{id}}.
+ *
+ * <p>A few popular events take most of the reads. Caffeine's W-TinyLFU policy keeps them resident
+ * while one-off lookups pass through. Each entry holds the DTO and its JSON, so a hit skips the
+ * database, the mapper, Jackson and hashing the body for its ETag, and concurrent misses on one
+ * event share a single load.
+ *
+ * <p>Writers invalidate an event once their transaction commits. An invalidation that races a load
+ * waits for it and drops the loaded value. The TTL bounds what is missed, such as writes made by
+ * another instance.
+ */
+@Component
+public class EventDetailsCache {
+
+  private final Cache<UUID, Entry> cache;
+  private final ObjectMapper objectMapper;
+
+  /** A cached event, its JSON encoding and the entity tag of that encoding; must not be modified */
+  public record Entry(EventsDto event, byte[] json, String etag) {}
+
+  public EventDetailsCache(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${events.details-cache.max-size:10000}") long maxSize,
+      @Value("${events.details-cache.ttl:60s}") Duration ttl) {
+    this.objectMapper = objectMapper;
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "events.details");
+  }
+
+  /**
+   * Returns the cached entry of an event, loading it on a miss.
+   *
+   * @param loader reads the event, throwing if it does not exist; failures are not cached
+   */
+  Entry get(UUID id, Function<UUID, EventsDto> loader) {
+    return cache.get(id, key -> encode(loader.apply(key)));
+  }
+
+  /** Drop an event once the current transaction commits, or right away outside a transaction */
+  public void invalidateAfterCommit(UUID id) {
+    EntityCacheEvictor.runAfterCommit(() -> cache.invalidate(id));
+  }
+
+  private Entry encode(EventsDto event) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(event);
+      return new Entry(event, json, ETags.of(json));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
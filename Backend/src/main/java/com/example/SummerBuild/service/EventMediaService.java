@@ -0,0 +1,156 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.FileUploadResult;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.MediaStatus;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.util.FileLoaderService;
+import com.example.SummerBuild.util.SpooledFile;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Uploads event pictures in the background, so creating or updating an event does not wait for
+ * storage.
+ *
+ * <p>The parts are moved to a local spool directory before the request ends, then a worker uploads
+ * them with retries and records the outcome in {@code events.media_status}, which clients poll
+ * through the event itself. The spool only lives on local disk: uploads queued when the process
+ * dies are lost and their events stay PENDING.
+ */
+@Service
+public class EventMediaService {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventMediaService.class);
+
+  private final FileLoaderService fileLoaderService;
+  private final EventsRepository eventsRepository;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final EventDetailsCache eventDetailsCache;
+  private final TaskExecutor mediaUploadExecutor;
+  private final Path spoolRoot;
+  private final int maxAttempts;
+  private final Duration retryBackoff;
+
+  public EventMediaService(
+      FileLoaderService fileLoaderService,
+      EventsRepository eventsRepository,
+      EntityCacheEvictor entityCacheEvictor,
+      EventDetailsCache eventDetailsCache,
+      @Qualifier("mediaUploadExecutor") TaskExecutor mediaUploadExecutor,
+      @Value("${storage.upload.spool-dir:${java.io.tmpdir}/summerbuild-media}") Path spoolRoot,
+      @Value("${storage.upload.max-attempts:3}") int maxAttempts,
+      @Value("${storage.upload.retry-backoff:2s}") Duration retryBackoff)
+      throws IOException {
+    this.fileLoaderService = fileLoaderService;
+    this.eventsRepository = eventsRepository;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventDetailsCache = eventDetailsCache;
+    this.mediaUploadExecutor = mediaUploadExecutor;
+    this.spoolRoot = Files.createDirectories(spoolRoot);
+    this.maxAttempts = maxAttempts;
+    this.retryBackoff = retryBackoff;
+  }
+
+  /**
+   * Spools the pictures of an event and queues their upload.
+   *
+   * @return the event's media status after the call, PENDING unless the queue was full
+   * @throws UncheckedIOException if the files could not be written to the spool directory
+   */
+  public MediaStatus submit(UUID eventId, UUID hostId, List<MultipartFile> files) {
+    Spool spool = spool(eventId, files);
+    setMediaStatus(eventId, MediaStatus.PENDING);
+    try {
+      mediaUploadExecutor.execute(() -> upload(eventId, hostId, spool));
+      logger.info("Queued upload of {} files for event: {}", files.size(), eventId);
+      return MediaStatus.PENDING;
+    } catch (TaskRejectedException e) {
+      logger.error("Upload queue is full, dropping files for event: {}", eventId);
+      delete(spool.directory());
+      setMediaStatus(eventId, MediaStatus.FAILED);
+      return MediaStatus.FAILED;
+    }
+  }
+
+  private void setMediaStatus(UUID eventId, MediaStatus mediaStatus) {
+    eventsRepository.updateMediaStatus(eventId, mediaStatus, LocalDateTime.now());
+    entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+    eventDetailsCache.invalidateAfterCommit(eventId);
+  }
+
+  private void upload(UUID eventId, UUID hostId, Spool spool) {
+    try {
+      for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+        List<FileUploadResult> results =
+            fileLoaderService.uploadFiles(spool.files(), eventId, hostId);
+        if (FileUploadResult.allUploaded(results)) {
+          setMediaStatus(eventId, MediaStatus.READY);
+          return;
+        }
+        logger.warn("Upload attempt {} of {} failed for event: {}", attempt, maxAttempts, eventId);
+        if (attempt < maxAttempts) {
+          Thread.sleep(retryBackoff.multipliedBy(attempt).toMillis());
+        }
+      }
+      setMediaStatus(eventId, MediaStatus.FAILED);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      setMediaStatus(eventId, MediaStatus.FAILED);
+    } catch (RuntimeException e) {
+      logger.error("Upload failed for event: {}", eventId, e);
+      setMediaStatus(eventId, MediaStatus.FAILED);
+    } finally {
+      delete(spool.directory());
+    }
+  }
+
+  // The spooled files of one submission, all inside their own directory
+  private record Spool(Path directory, List<MultipartFile> files) {}
+
+  private Spool spool(UUID eventId, List<MultipartFile> files) {
+    Path directory;
+    try {
+      directory = Files.createTempDirectory(spoolRoot, eventId + "-");
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not spool files for event " + eventId, e);
+    }
+    try {
+      List<MultipartFile> spooled = new ArrayList<>();
+      for (int i = 0; i < files.size(); i++) {
+        spooled.add(SpooledFile.spool(files.get(i), directory.resolve(String.valueOf(i))));
+      }
+      return new Spool(directory, spooled);
+    } catch (IOException e) {
+      delete(directory);
+      throw new UncheckedIOException("Could not spool files for event " + eventId, e);
+    }
+  }
+
+  private void delete(Path directory) {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not clean up spool directory: {}", directory, e);
+    }
+  }
+}
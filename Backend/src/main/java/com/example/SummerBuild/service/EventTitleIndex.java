@@ -0,0 +1,363 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.EventTitleDto;
+import com.example.SummerBuild.repository.EventsRepository;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory prefix index over the titles of upcoming events, for search-as-you-type.
+ *
+ * <p>Titles are normalized, folding case, accents and punctuation, and every word starts an entry,
+ * so "nig" finds "Jazz Night". The entries sit in one array sorted by the title text from their
+ * word on. A lookup is a binary search for both ends of the run of matches and a scan of their
+ * start times, without a database round trip. An entry costs a reference, an int and a long on top
+ * of the event's title.
+ *
+ * <p>Readers see an immutable snapshot. Writers derive the next snapshot from it under a lock, a
+ * change costs one copy of the entry arrays. A full rebuild from the database runs at startup and
+ * then on a schedule, dropping events that have started and picking up writes of other instances.
+ */
+@Component
+public class EventTitleIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventTitleIndex.class);
+
+  private static final Comparator<EventTitleDto> BY_START =
+      Comparator.comparing(EventTitleDto::getStartTime).thenComparing(EventTitleDto::getId);
+
+  private final EventsRepository eventsRepository;
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  // Changes made while a rebuild reads the database, replayed onto its result; guarded by this
+  private List<Change> changesDuringRebuild;
+
+  public EventTitleIndex(EventsRepository eventsRepository) {
+    this.eventsRepository = eventsRepository;
+  }
+
+  /** Reloads every upcoming event from the database. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${events.title-index.rebuild-cron:0 0 * * * *}")
+  public void rebuild() {
+    long start = System.nanoTime();
+    synchronized (this) {
+      changesDuringRebuild = new ArrayList<>();
+    }
+    Snapshot rebuilt;
+    try {
+      rebuilt = Snapshot.of(eventsRepository.findTitlesStartingFrom(LocalDateTime.now()));
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        changesDuringRebuild = null;
+      }
+      logger.error("Could not rebuild the event title index, keeping the current one", e);
+      return;
+    }
+    synchronized (this) {
+      for (Change change : changesDuringRebuild) {
+        rebuilt = rebuilt.with(change.id(), change.event());
+      }
+      changesDuringRebuild = null;
+      snapshot = rebuilt;
+    }
+    logger.info(
+        "Indexed {} event titles as {} entries in {} ms",
+        rebuilt.events,
+        rebuilt.offsets.length,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Finds upcoming events with a title word starting with the given text.
+   *
+   * @param prefix what the user typed so far, normalized like the titles
+   * @param limit maximum number of suggestions
+   * @return the matching events starting soonest, in start time order
+   */
+  public List<EventTitleDto> lookup(String prefix, int limit) {
+    String key = normalize(prefix);
+    if (key.isEmpty()) {
+      return List.of();
+    }
+    Snapshot current = snapshot;
+    long now = startOf(LocalDateTime.now());
+    // The latest-starting suggestion on top, so it is the one dropped when a sooner match comes.
+    // Most entries of a long run lose against its start time without leaving the starts array,
+    // only the rest are dereferenced and pay for the duplicate check.
+    PriorityQueue<EventTitleDto> soonest = new PriorityQueue<>(limit + 1, BY_START.reversed());
+    long latest = Long.MAX_VALUE;
+    int end = current.upperBound(key);
+    for (int i = current.lowerBound(key); i < end; i++) {
+      long start = current.starts[i];
+      if (start < now || start > latest) {
+        continue;
+      }
+      EventTitleDto event = current.owners[i].event();
+      if ((soonest.size() == limit && BY_START.compare(event, soonest.peek()) >= 0)
+          || soonest.contains(event)) {
+        continue;
+      }
+      soonest.add(event);
+      if (soonest.size() > limit) {
+        soonest.poll();
+      }
+      if (soonest.size() == limit) {
+        latest = startOf(soonest.peek().getStartTime());
+      }
+    }
+    List<EventTitleDto> result = new ArrayList<>(soonest);
+    result.sort(BY_START);
+    return result;
+  }
+
+  /** Index an event once the current transaction commits, or right away outside a transaction */
+  public void putAfterCommit(EventTitleDto event) {
+    EntityCacheEvictor.runAfterCommit(() -> apply(new Change(event.getId(), event)));
+  }
+
+  /** Drop an event once the current transaction commits, or right away outside a transaction */
+  public void removeAfterCommit(UUID id) {
+    EntityCacheEvictor.runAfterCommit(() -> apply(new Change(id, null)));
+  }
+
+  /** Number of indexed events. */
+  public int size() {
+    return snapshot.events;
+  }
+
+  private synchronized void apply(Change change) {
+    snapshot = snapshot.with(change.id(), change.event());
+    if (changesDuringRebuild != null) {
+      changesDuringRebuild.add(change);
+    }
+  }
+
+  /** Lower case without accents, runs of anything but letters and digits become one space. */
+  static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+    StringBuilder normalized = new StringBuilder(decomposed.length());
+    boolean afterSpace = true;
+    for (int i = 0; i < decomposed.length(); i++) {
+      char c = decomposed.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        normalized.append(Character.toLowerCase(c));
+        afterSpace = false;
+      } else if (!afterSpace && Character.getType(c) != Character.NON_SPACING_MARK) {
+        normalized.append(' ');
+        afterSpace = true;
+      }
+    }
+    int end = normalized.length();
+    return afterSpace && end > 0 ? normalized.substring(0, end - 1) : normalized.toString();
+  }
+
+  /** Nanoseconds since the epoch at UTC, ordered like the start times themselves */
+  private static long startOf(LocalDateTime startTime) {
+    return startTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + startTime.getNano();
+  }
+
+  /** A put, or a removal when event is null */
+  private record Change(UUID id, EventTitleDto event) {}
+
+  /** An indexed event and its normalized title, shared by the entries of its words */
+  private record Title(EventTitleDto event, String key) {}
+
+  /**
+   * Entries in sorted order as parallel arrays: entry i is the title owners[i] read from character
+   * offsets[i] on, for an event starting at starts[i].
+   */
+  private static final class Snapshot {
+
+    static final Snapshot EMPTY = new Snapshot(new Title[0], new int[0], new long[0], 0);
+
+    final Title[] owners;
+    final int[] offsets;
+    final long[] starts;
+    final int events;
+
+    private Snapshot(Title[] owners, int[] offsets, long[] starts, int events) {
+      this.owners = owners;
+      this.offsets = offsets;
+      this.starts = starts;
+      this.events = events;
+    }
+
+    static Snapshot of(List<EventTitleDto> events) {
+      List<Title> titles = new ArrayList<>(events.size());
+      for (EventTitleDto event : events) {
+        Title title = title(event);
+        if (title != null) {
+          titles.add(title);
+        }
+      }
+      return sorted(titles, titles.size());
+    }
+
+    /** This snapshot with the event replaced, or removed when event is null or has started */
+    Snapshot with(UUID id, EventTitleDto event) {
+      int removed = 0;
+      for (Title owner : owners) {
+        if (owner.event().getId().equals(id)) {
+          removed++;
+        }
+      }
+      Title title = event == null ? null : title(event);
+      Snapshot added =
+          title == null || event.getStartTime().isBefore(LocalDateTime.now())
+              ? EMPTY
+              : sorted(List.of(title), 1);
+
+      int size = offsets.length - removed + added.offsets.length;
+      Title[] mergedOwners = new Title[size];
+      int[] mergedOffsets = new int[size];
+      long[] mergedStarts = new long[size];
+      int i = 0;
+      int j = 0;
+      for (int k = 0; k < size; k++) {
+        while (i < offsets.length && owners[i].event().getId().equals(id)) {
+          i++;
+        }
+        boolean takeAdded =
+            i == offsets.length
+                || (j < added.offsets.length
+                    && compare(added.owners[j], added.offsets[j], owners[i], offsets[i]) < 0);
+        if (takeAdded) {
+          mergedOwners[k] = added.owners[j];
+          mergedOffsets[k] = added.offsets[j];
+          mergedStarts[k] = added.starts[j++];
+        } else {
+          mergedOwners[k] = owners[i];
+          mergedOffsets[k] = offsets[i];
+          mergedStarts[k] = starts[i++];
+        }
+      }
+      int delta = (added == EMPTY ? 0 : 1) - (removed > 0 ? 1 : 0);
+      return new Snapshot(mergedOwners, mergedOffsets, mergedStarts, events + delta);
+    }
+
+    /** The event's title entry, null when it has no start time or no words to match */
+    private static Title title(EventTitleDto event) {
+      if (event.getStartTime() == null) {
+        return null;
+      }
+      String key = normalize(event.getTitle());
+      return key.isEmpty() ? null : new Title(event, key);
+    }
+
+    /** Index of the first entry not sorting before the prefix */
+    int lowerBound(String prefix) {
+      int low = 0;
+      int high = offsets.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (compareAt(mid, prefix) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /** Index of the first entry sorting after the prefix, the end of the run of matches */
+    int upperBound(String prefix) {
+      int low = 0;
+      int high = offsets.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (compareAt(mid, prefix) <= 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /** Zero when entry i starts with the prefix, otherwise its order relative to the prefix */
+    int compareAt(int i, String prefix) {
+      String key = owners[i].key();
+      int from = offsets[i];
+      int length = Math.min(key.length() - from, prefix.length());
+      for (int c = 0; c < length; c++) {
+        int diff = key.charAt(from + c) - prefix.charAt(c);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return key.length() - from < prefix.length() ? -1 : 0;
+    }
+
+    private static Snapshot sorted(List<Title> titles, int events) {
+      int count = 0;
+      for (Title title : titles) {
+        count += wordCount(title.key());
+      }
+      Title[] owners = new Title[count];
+      int[] offsets = new int[count];
+      int e = 0;
+      for (Title title : titles) {
+        String key = title.key();
+        for (int c = 0; c < key.length(); c++) {
+          if (c == 0 || key.charAt(c - 1) == ' ') {
+            owners[e] = title;
+            offsets[e++] = c;
+          }
+        }
+      }
+      Integer[] order = new Integer[count];
+      Arrays.setAll(order, index -> index);
+      Arrays.sort(order, (a, b) -> compare(owners[a], offsets[a], owners[b], offsets[b]));
+      Title[] sortedOwners = new Title[count];
+      int[] sortedOffsets = new int[count];
+      long[] sortedStarts = new long[count];
+      for (e = 0; e < count; e++) {
+        sortedOwners[e] = owners[order[e]];
+        sortedOffsets[e] = offsets[order[e]];
+        sortedStarts[e] = startOf(sortedOwners[e].event().getStartTime());
+      }
+      return new Snapshot(sortedOwners, sortedOffsets, sortedStarts, events);
+    }
+
+    private static int wordCount(String key) {
+      int words = 1;
+      for (int c = 0; c < key.length(); c++) {
+        if (key.charAt(c) == ' ') {
+          words++;
+        }
+      }
+      return words;
+    }
+
+    private static int compare(Title a, int fromA, Title b, int fromB) {
+      String keyA = a.key();
+      String keyB = b.key();
+      int length = Math.min(keyA.length() - fromA, keyB.length() - fromB);
+      for (int c = 0; c < length; c++) {
+        int diff = keyA.charAt(fromA + c) - keyB.charAt(fromB + c);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return (keyA.length() - fromA) - (keyB.length() - fromB);
+    }
+  }
+}
@@ -1,14 +1,29 @@
 package com.example.SummerBuild.service;
 
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.dto.EventTitleDto;
 import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.dto.EventsPageDto;
 import com.example.SummerBuild.mapper.EventsMapper;
+import com.example.SummerBuild.model.DomainEventType;
 import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.User;
 import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.EventsSpecifications;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import com.example.SummerBuild.util.KeysetCursor;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,9 +33,20 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @RequiredArgsConstructor
 public class EventsService {
   private final EventsRepository eventsRepository;
+  private final ParticipatesRepository participatesRepository;
+  private final UserRepository userRepository;
   private final EventsMapper eventsMapper;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final OutboxService outboxService;
+  private final EventDetailsCache eventDetailsCache;
+  private final EventTitleIndex eventTitleIndex;
   private static final Logger logger = LoggerFactory.getLogger(EventsService.class);
 
+  public static final int DEFAULT_PAGE_SIZE = 20;
+  public static final int MAX_PAGE_SIZE = 100;
+  public static final int MAX_SEARCH_LENGTH = 200;
+  public static final int MAX_SUGGESTIONS = 20;
+
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public static class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
@@ -42,19 +68,105 @@ public class EventsService {
     }
   }
 
+  /**
+   * Fetches one page of events ordered by start time, then id.
+   *
+   * @param filter optional server-side filters
+   * @param cursor continuation token from the previous page, null for the first page
+   * @param limit requested page size, defaults to {@value #DEFAULT_PAGE_SIZE} and is capped at
+   *     {@value #MAX_PAGE_SIZE}
+   * @return the page and the token for the next one
+   */
+  @Transactional(readOnly = true)
+  public EventsPageDto findPage(EventsFilter filter, String cursor, Integer limit) {
+    int pageSize = resolvePageSize(limit);
+    logger.info("Fetching events page of size {} after cursor {}", pageSize, cursor);
+
+    Specification<Events> spec = EventsSpecifications.matching(filter);
+    if (cursor != null && !cursor.isBlank()) {
+      spec = spec.and(EventsSpecifications.after(decodeCursor(cursor)));
+    }
+
+    // Fetch one extra row to learn whether another page exists without a COUNT query
+    List<Events> rows =
+        eventsRepository.findBy(
+            spec,
+            query -> query.sortBy(EventsSpecifications.KEYSET_SORT).limit(pageSize + 1).all());
+
+    boolean hasMore = rows.size() > pageSize;
+    List<Events> page = hasMore ? rows.subList(0, pageSize) : rows;
+    String nextCursor = null;
+    if (hasMore) {
+      Events last = page.get(page.size() - 1);
+      nextCursor = new KeysetCursor(last.getStartTime(), last.getId()).encode();
+    }
+
+    return new EventsPageDto(page.stream().map(eventsMapper::toDto).toList(), nextCursor);
+  }
+
+  /**
+   * Fetches one page of events that have not started yet.
+   *
+   * @param availableOnly whether to skip events that are full
+   * @see #findPage(EventsFilter, String, Integer)
+   */
   @Transactional(readOnly = true)
-  public List<EventsDto> findAll() {
-    logger.info("Fetching all events");
-    return eventsRepository.findAll().stream().map(eventsMapper::toDto).toList();
+  public EventsPageDto findUpcoming(String cursor, Integer limit, boolean availableOnly) {
+    EventsFilter filter =
+        EventsFilter.builder().startFrom(LocalDateTime.now()).availableOnly(availableOnly).build();
+    return findPage(filter, cursor, limit);
   }
 
+  /**
+   * Fetches one page of events that have started and not ended yet.
+   *
+   * @see #findPage(EventsFilter, String, Integer)
+   */
   @Transactional(readOnly = true)
+  public EventsPageDto findActive(String cursor, Integer limit) {
+    LocalDateTime now = LocalDateTime.now();
+    EventsFilter filter = EventsFilter.builder().startTo(now).endAfter(now).build();
+    return findPage(filter, cursor, limit);
+  }
+
+  /**
+   * Fetches one page of events taking place at some point in the window from {@code from},
+   * inclusive, to {@code to}, exclusive.
+   *
+   * @throws InvalidDataException if a bound is missing or the window is empty
+   * @see #findPage(EventsFilter, String, Integer)
+   */
+  @Transactional(readOnly = true)
+  public EventsPageDto findOverlapping(
+      LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+    if (from == null || to == null || !from.isBefore(to)) {
+      throw new InvalidDataException("Window start must be before its end");
+    }
+    // An event ending exactly at from is over by then
+    EventsFilter filter = EventsFilter.builder().startTo(to).endAfter(from).build();
+    return findPage(filter, cursor, limit);
+  }
+
+  /**
+   * Fetches an event through {@link EventDetailsCache}.
+   *
+   * @param id UUID of the event
+   * @return a copy of the cached event, free to modify
+   */
   public EventsDto findById(UUID id) {
     logger.info("Fetching event with id: {}", id);
-    return eventsRepository
-        .findById(id)
-        .map(eventsMapper::toDto)
-        .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+    return eventsMapper.copy(eventDetailsCache.get(id, this::load).event());
+  }
+
+  /**
+   * Fetches an event through {@link EventDetailsCache}, serialized and tagged once per cache entry.
+   *
+   * @param id UUID of the event
+   * @return the event as served by {@code GET /api/events/{id}}, shared and not to be modified
+   */
+  public EventDetailsCache.Entry findCachedById(UUID id) {
+    logger.info("Fetching cached event with id: {}", id);
+    return eventDetailsCache.get(id, this::load);
   }
 
   @Transactional
@@ -85,6 +197,9 @@ public class EventsService {
     logger.info(
         "DTO after mapping - ID: {}, Host UUID: {}", resultDto.getId(), resultDto.getHostUuid());
 
+    outboxService.record(DomainEventType.EVENT_CREATED, DomainEventPayload.Event.from(resultDto));
+    eventTitleIndex.putAfterCommit(titleOf(resultDto));
+
     logger.info("Successfully created event with id: {}", savedEvent.getId());
     return resultDto;
   }
@@ -105,30 +220,144 @@ public class EventsService {
     eventsMapper.updateEntityFromDto(eventsDto, existingEvent);
 
     Events updatedEvent = eventsRepository.save(existingEvent);
+    EventsDto resultDto = eventsMapper.toDto(updatedEvent);
+    outboxService.record(DomainEventType.EVENT_UPDATED, DomainEventPayload.Event.from(resultDto));
+    eventDetailsCache.invalidateAfterCommit(id);
+    eventTitleIndex.putAfterCommit(titleOf(resultDto));
 
     logger.info("Successfully updated event with id: {}", id);
-    return eventsMapper.toDto(updatedEvent);
+    return resultDto;
   }
 
   @Transactional
   public void delete(UUID id) {
     logger.info("Deleting event with id: {}", id);
 
-    if (!eventsRepository.existsById(id)) {
+    // Registrations reserve a seat first, so they wait on this lock until the event is gone
+    if (eventsRepository.lockById(id).isEmpty()) {
       throw new ResourceNotFoundException("Event not found with id: " + id);
     }
 
+    // The database would cascade to the participations behind Hibernate's back, leaving them, the
+    // cached lookups over them and the participants' events_joined counters stale in the cache
+    List<UUID> participants = participatesRepository.findUserIdsByEventId(id);
+    if (!participants.isEmpty()) {
+      participatesRepository.deleteAllByEventId(id);
+      userRepository.decrementEventsJoined(participants);
+      entityCacheEvictor.evictAfterCommit(User.class, participants);
+    }
+
     eventsRepository.deleteById(id);
+    outboxService.record(DomainEventType.EVENT_DELETED, new DomainEventPayload.EventDeleted(id));
+    eventDetailsCache.invalidateAfterCommit(id);
+    eventTitleIndex.removeAfterCommit(id);
     logger.info("Successfully deleted event with id: {}", id);
   }
 
+  /**
+   * Fetches one page of the events hosted by a user, ordered by start time, then id.
+   *
+   * @param hostUuid UUID of the host
+   * @param page zero-based page number
+   * @param size page size, capped at {@value #MAX_PAGE_SIZE}
+   * @return the events on the requested page
+   */
   @Transactional(readOnly = true)
-  public List<EventsDto> findByHostUuid(UUID hostUuid) {
-    logger.info("Fetching events for host: {}", hostUuid);
-    return eventsRepository.findAll().stream()
-        .filter(event -> event.getHostId().equals(hostUuid))
+  public List<EventsDto> findByHostUuid(UUID hostUuid, int page, int size) {
+    logger.info("Fetching events for host: {}, page: {}, size: {}", hostUuid, page, size);
+    if (page < 0) {
+      throw new InvalidDataException("Page must not be negative");
+    }
+    if (size <= 0) {
+      throw new InvalidDataException("Size must be a positive number");
+    }
+
+    Pageable pageable =
+        PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), EventsSpecifications.KEYSET_SORT);
+    return eventsRepository.findByHostId(hostUuid, pageable).map(eventsMapper::toDto).getContent();
+  }
+
+  /**
+   * Searches event titles and descriptions, ranked by relevance. When no event matches the words
+   * themselves, titles resembling the query are returned instead, so typos still find results.
+   *
+   * @param query what the user typed
+   * @param page zero-based page number
+   * @param size page size, capped at {@value #MAX_PAGE_SIZE}
+   * @return matching events, best first
+   * @throws InvalidDataException if the query is blank or too long, or the page is invalid
+   */
+  @Transactional(readOnly = true)
+  public List<EventsDto> search(String query, int page, int size) {
+    logger.info("Searching events for: {}, page: {}, size: {}", query, page, size);
+    if (query == null || query.isBlank()) {
+      throw new InvalidDataException("Search query must not be blank");
+    }
+    if (query.length() > MAX_SEARCH_LENGTH) {
+      throw new InvalidDataException(
+          "Search query must be at most " + MAX_SEARCH_LENGTH + " characters");
+    }
+    if (page < 0) {
+      throw new InvalidDataException("Page must not be negative");
+    }
+    if (size <= 0) {
+      throw new InvalidDataException("Size must be a positive number");
+    }
+
+    String text = query.strip();
+    Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+    Slice<Events> hits = eventsRepository.search(text, pageable);
+    // Trigram matching only as a fallback, a common word in the query would otherwise pull in
+    // every title that contains it
+    if (hits.isEmpty() && (page == 0 || !eventsRepository.existsByText(text))) {
+      hits = eventsRepository.searchSimilarTitles(text, pageable);
+    }
+    return hits.map(eventsMapper::toDto).getContent();
+  }
+
+  /**
+   * Suggests upcoming events whose title has a word starting with the given text, from {@link
+   * EventTitleIndex} without querying the database.
+   *
+   * @param prefix what the user typed so far
+   * @param limit maximum number of suggestions, at most {@value #MAX_SUGGESTIONS}
+   * @return the matching events starting soonest
+   * @throws InvalidDataException if the limit is out of range
+   */
+  public List<EventTitleDto> autocomplete(String prefix, int limit) {
+    if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+      throw new InvalidDataException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+    }
+    return eventTitleIndex.lookup(prefix, limit);
+  }
+
+  private static EventTitleDto titleOf(EventsDto event) {
+    return new EventTitleDto(event.getId(), event.getTitle(), event.getStartTime());
+  }
+
+  private EventsDto load(UUID id) {
+    return eventsRepository
+        .findById(id)
         .map(eventsMapper::toDto)
-        .toList();
+        .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+  }
+
+  private int resolvePageSize(Integer limit) {
+    if (limit == null) {
+      return DEFAULT_PAGE_SIZE;
+    }
+    if (limit <= 0) {
+      throw new InvalidDataException("Limit must be a positive number");
+    }
+    return Math.min(limit, MAX_PAGE_SIZE);
+  }
+
+  private KeysetCursor decodeCursor(String cursor) {
+    try {
+      return KeysetCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidDataException("Invalid cursor");
+    }
   }
 
   private void validateEventData(EventsDto eventsDto) {
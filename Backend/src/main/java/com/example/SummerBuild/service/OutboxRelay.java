@@ -0,0 +1,173 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.config.SchedulingConfig;
+import com.example.SummerBuild.dto.DomainEventMessage;
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.model.OutboxEvent;
+import com.example.SummerBuild.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Forwards outbox rows to Kafka.
+ *
+ * <p>A batch is claimed in a short transaction that leases its rows, then sent through the domain
+ * event KafkaTemplate without waiting between records, so the producer can pack them into few
+ * requests. Acknowledged rows are deleted afterwards, no transaction or row lock is held while
+ * waiting on the broker. A crash between the broker's ack and the delete resends the rows once the
+ * lease expires, so delivery is at least once.
+ *
+ * <p>Only one batch is leased at a time across all instances, so rows leave in outbox order and
+ * each event's changes reach its partition in order. A row that fails is retried on the next run,
+ * after the rows of its batch that did go out. A row that cannot be read, or fails {@code
+ * outbox.relay.max-attempts} times, is parked and no longer relayed, later changes of its event
+ * then go out without it.
+ *
+ * <p>The relay runs on its own scheduler, as waiting on an unreachable broker would otherwise hold
+ * up every other scheduled job.
+ */
+@Component
+public class OutboxRelay {
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+  // Advisory lock taken while claiming, shared by every instance
+  private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+  private final OutboxRepository outboxRepository;
+  private final KafkaTemplate<String, DomainEventMessage> kafkaTemplate;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final String topic;
+  private final int batchSize;
+  private final Duration sendTimeout;
+  private final Duration lease;
+  private final int maxAttempts;
+
+  public OutboxRelay(
+      OutboxRepository outboxRepository,
+      KafkaTemplate<String, DomainEventMessage> kafkaTemplate,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      @Value("${outbox.topic:summerbuild.domain-events}") String topic,
+      @Value("${outbox.relay.batch-size:100}") int batchSize,
+      @Value("${outbox.relay.send-timeout:10s}") Duration sendTimeout,
+      @Value("${outbox.relay.lease:2m}") Duration lease,
+      @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+    this.outboxRepository = outboxRepository;
+    this.kafkaTemplate = kafkaTemplate;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.topic = topic;
+    this.batchSize = batchSize;
+    this.sendTimeout = sendTimeout;
+    this.lease = lease;
+    this.maxAttempts = maxAttempts;
+  }
+
+  /** Relay batches until the outbox is drained, a send fails or another instance is relaying. */
+  @Scheduled(
+      fixedDelayString = "${outbox.relay.fixed-delay-ms:500}",
+      scheduler = SchedulingConfig.OUTBOX_RELAY_SCHEDULER)
+  public void relay() {
+    List<OutboxEvent> batch;
+    do {
+      batch = transactionTemplate.execute(status -> claimNextBatch());
+    } while (!batch.isEmpty() && publish(batch) && batch.size() == batchSize);
+  }
+
+  private List<OutboxEvent> claimNextBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    if (!outboxRepository.tryLockRelay(RELAY_LOCK_KEY) || outboxRepository.existsLeaseAfter(now)) {
+      return List.of();
+    }
+    List<OutboxEvent> batch = outboxRepository.findNextBatch(batchSize);
+    if (!batch.isEmpty()) {
+      outboxRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), now.plus(lease));
+    }
+    return batch;
+  }
+
+  /** Sends a claimed batch and settles its rows, true if every row went out */
+  private boolean publish(List<OutboxEvent> batch) {
+    List<Long> unreadable = new ArrayList<>();
+    Map<Long, CompletableFuture<SendResult<String, DomainEventMessage>>> sends =
+        new LinkedHashMap<>();
+    for (OutboxEvent event : batch) {
+      DomainEventMessage message = toMessage(event);
+      if (message == null) {
+        unreadable.add(event.getId());
+      } else {
+        sends.put(
+            event.getId(), kafkaTemplate.send(topic, event.getAggregateId().toString(), message));
+      }
+    }
+
+    // One deadline for the whole batch, the sends are in flight together
+    long deadline = System.nanoTime() + sendTimeout.toNanos();
+    List<Long> published = new ArrayList<>(sends.size());
+    List<Long> failed = new ArrayList<>();
+    for (Map.Entry<Long, CompletableFuture<SendResult<String, DomainEventMessage>>> send :
+        sends.entrySet()) {
+      try {
+        send.getValue().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        published.add(send.getKey());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failed.add(send.getKey());
+      } catch (ExecutionException | TimeoutException e) {
+        logger.warn("Could not publish outbox row {}, retrying later", send.getKey(), e);
+        failed.add(send.getKey());
+      }
+    }
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          if (!published.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(published);
+          }
+          if (!failed.isEmpty()) {
+            outboxRepository.releaseFailed(failed);
+          }
+          if (!unreadable.isEmpty() || !failed.isEmpty()) {
+            int parked = outboxRepository.park(unreadable, maxAttempts, LocalDateTime.now());
+            if (parked > 0) {
+              logger.error("Parked {} outbox rows that cannot be published", parked);
+            }
+          }
+        });
+    return failed.isEmpty();
+  }
+
+  private DomainEventMessage toMessage(OutboxEvent event) {
+    try {
+      DomainEventPayload payload =
+          objectMapper.treeToValue(
+              event.getPayload(), DomainEventPayload.typeOf(event.getEventType()));
+      return new DomainEventMessage(
+          event.getId(), event.getEventType(), event.getCreatedAt(), payload);
+    } catch (JsonProcessingException | IllegalArgumentException e) {
+      logger.error("Unreadable payload in outbox row {}, parking it", event.getId(), e);
+      return null;
+    }
+  }
+}
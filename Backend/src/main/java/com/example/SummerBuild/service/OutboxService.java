@@ -0,0 +1,46 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.model.DomainEventType;
+import com.example.SummerBuild.model.OutboxEvent;
+import com.example.SummerBuild.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records domain events in the outbox table.
+ *
+ * <p>Callers record inside the transaction that makes the change, so an event is published if and
+ * only if the change commits. {@link OutboxRelay} forwards the rows to Kafka afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+  private final OutboxRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Add a domain event to the outbox.
+   *
+   * @param type what happened
+   * @param payload the record {@link DomainEventPayload#typeOf} expects for the type, stored as
+   *     JSON until it is relayed
+   * @throws IllegalArgumentException if the payload does not match the type
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(DomainEventType type, DomainEventPayload payload) {
+    if (!DomainEventPayload.typeOf(type).isInstance(payload)) {
+      throw new IllegalArgumentException("Payload does not match domain event type " + type);
+    }
+    outboxRepository.save(
+        OutboxEvent.builder()
+            .eventType(type)
+            .aggregateId(payload.aggregateId())
+            .payload(objectMapper.valueToTree(payload))
+            .build());
+  }
+}
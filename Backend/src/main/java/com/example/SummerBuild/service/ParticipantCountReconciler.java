@@ -0,0 +1,47 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically repairs the participant counters on events and users.
+ *
+ * <p>ParticipatesService updates the counters in the same transaction as the participates rows, so
+ * drift only comes from writes that bypass it, such as manual SQL or a user deletion cascading to
+ * participates. Each drifted row is recounted in its own short transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParticipantCountReconciler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParticipantCountReconciler.class);
+
+  private final ParticipatesService participatesService;
+  private final EventsRepository eventsRepository;
+  private final UserRepository userRepository;
+
+  @Scheduled(cron = "${participates.counters.reconcile-cron:0 */15 * * * *}")
+  public void reconcile() {
+    int events = 0;
+    for (UUID eventId : eventsRepository.findIdsWithSeatsTakenDrift()) {
+      if (participatesService.reconcileParticipantCount(eventId)) {
+        events++;
+      }
+    }
+    int users = 0;
+    for (UUID userId : userRepository.findIdsWithEventsJoinedDrift()) {
+      if (participatesService.reconcileUserEventCount(userId)) {
+        users++;
+      }
+    }
+    if (events > 0 || users > 0) {
+      logger.warn("Repaired participant counters of {} events and {} users", events, users);
+    }
+  }
+}
@@ -1,15 +1,24 @@
 package com.example.SummerBuild.service;
 
+import com.example.SummerBuild.dto.DomainEventPayload;
 import com.example.SummerBuild.dto.ParticipatesDto;
 import com.example.SummerBuild.mapper.ParticipatesMapper;
+import com.example.SummerBuild.model.DomainEventType;
+import com.example.SummerBuild.model.Events;
 import com.example.SummerBuild.model.Participates;
+import com.example.SummerBuild.model.User;
+import com.example.SummerBuild.repository.EventsRepository;
 import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
 @Service
 @RequiredArgsConstructor
@@ -18,19 +27,59 @@ public class ParticipatesService {
 
   private final ParticipatesRepository participatesRepository;
   private final ParticipatesMapper participatesMapper;
+  private final EventsRepository eventsRepository;
+  private final UserRepository userRepository;
+  private final OutboxService outboxService;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final EventDetailsCache eventDetailsCache;
 
-  /** Add a user to an event (create participation) */
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public static class EventFullException extends RuntimeException {
+    public EventFullException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Add a user to an event (create participation).
+   *
+   * <p>The seat is reserved with a single conditional update on the event row, so concurrent
+   * registrations for the same event never oversell it. Any failure after the reservation rolls the
+   * whole transaction back, seat included.
+   *
+   * @throws EventFullException if the event has no seats left
+   * @throws IllegalArgumentException if the event does not exist or the user already participates
+   */
   public ParticipatesDto addParticipation(UUID userId, UUID eventId) {
     // Check if user is already participating in the event
     if (participatesRepository.existsByUserIdAndEventId(userId, eventId)) {
       throw new IllegalArgumentException("User is already participating in this event");
     }
 
+    if (eventsRepository.reserveSeat(eventId) == 0) {
+      if (!eventsRepository.existsById(eventId)) {
+        throw new IllegalArgumentException("Event not found");
+      }
+      throw new EventFullException("Event is full");
+    }
+    entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+    eventDetailsCache.invalidateAfterCommit(eventId);
+
     Participates participation = Participates.builder().userId(userId).eventId(eventId).build();
 
-    Participates savedParticipation = participatesRepository.save(participation);
-    // TODO : Atomic Lock on capacity, don't subtract capacity when there is none.
-    return participatesMapper.toDto(savedParticipation);
+    try {
+      // Flush now so a concurrent duplicate or an unknown user surfaces here rather than at commit
+      Participates savedParticipation = participatesRepository.saveAndFlush(participation);
+      userRepository.incrementEventsJoined(userId);
+      entityCacheEvictor.evictAfterCommit(User.class, userId);
+      ParticipatesDto result = participatesMapper.toDto(savedParticipation);
+      outboxService.record(
+          DomainEventType.PARTICIPANT_ADDED,
+          new DomainEventPayload.Participant(result.getId(), userId, eventId));
+      return result;
+    } catch (DataIntegrityViolationException e) {
+      throw new IllegalArgumentException("Could not register user for this event", e);
+    }
   }
 
   /** Remove a user from an event (delete participation) */
@@ -39,7 +88,14 @@ public class ParticipatesService {
         participatesRepository.findByUserIdAndEventId(userId, eventId);
     if (participation.isPresent()) {
       participatesRepository.delete(participation.get());
-      // TODO : Atomic Lock on capacity, don't add capacity when already full.
+      eventsRepository.releaseSeat(eventId);
+      userRepository.decrementEventsJoined(userId);
+      entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+      entityCacheEvictor.evictAfterCommit(User.class, userId);
+      eventDetailsCache.invalidateAfterCommit(eventId);
+      outboxService.record(
+          DomainEventType.PARTICIPANT_REMOVED,
+          new DomainEventPayload.Participant(participation.get().getId(), userId, eventId));
     } else {
       throw new IllegalArgumentException("User is not participating in this event");
     }
@@ -65,16 +121,45 @@ public class ParticipatesService {
     return participatesRepository.existsByUserIdAndEventId(userId, eventId);
   }
 
-  /** Get the number of participants for an event */
+  /** Get the number of participants for an event, read from its seats_taken counter */
   @Transactional(readOnly = true)
   public long getParticipantCount(UUID eventId) {
-    return participatesRepository.countParticipantsByEventId(eventId);
+    return eventsRepository.findSeatsTakenById(eventId).orElse(0);
   }
 
-  /** Get the number of events a user is participating in */
+  /** Get the number of events a user is participating in, read from its events_joined counter */
   @Transactional(readOnly = true)
   public long getUserEventCount(UUID userId) {
-    return participatesRepository.countEventsByUserId(userId);
+    return userRepository.findEventsJoinedById(userId).orElse(0);
+  }
+
+  /**
+   * Recount an event's participants from participates, under the event's row lock.
+   *
+   * @return true if the counter had drifted and was repaired
+   */
+  public boolean reconcileParticipantCount(UUID eventId) {
+    if (eventsRepository.lockById(eventId).isEmpty()
+        || eventsRepository.recountSeatsTaken(eventId) == 0) {
+      return false;
+    }
+    entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+    eventDetailsCache.invalidateAfterCommit(eventId);
+    return true;
+  }
+
+  /**
+   * Recount a user's events from participates, under the user's row lock.
+   *
+   * @return true if the counter had drifted and was repaired
+   */
+  public boolean reconcileUserEventCount(UUID userId) {
+    if (userRepository.lockById(userId).isEmpty()
+        || userRepository.recountEventsJoined(userId) == 0) {
+      return false;
+    }
+    entityCacheEvictor.evictAfterCommit(User.class, userId);
+    return true;
   }
 
   /** Get all participations */
@@ -0,0 +1,132 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.RegistrationRequest;
+import com.example.SummerBuild.util.DatabaseErrors;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes queued registrations and applies each poll's requests per event.
+ *
+ * <p>The offsets are acknowledged only after every event's batch has committed. If an event's batch
+ * fails because the database is unavailable, the container retries from its first request until the
+ * database is back. If it fails for any other reason, its requests are applied one at a time to
+ * find the one at fault; the ones before it commit, and that one alone is retried with backoff,
+ * then rejected and sent to the dead-letter topic. Tickets that already have an outcome are skipped
+ * on redelivery.
+ *
+ * <p>A record that cannot be deserialized arrives with a null value. The records before it are
+ * applied, then it is handed to the container, which sends it to the dead-letter topic and
+ * redelivers the records after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistrationQueueListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(RegistrationQueueListener.class);
+
+  private static final LogAccessor logAccessor = new LogAccessor(RegistrationQueueListener.class);
+
+  private final RegistrationQueueService registrationQueueService;
+
+  /**
+   * Thrown for a record whose request failed on its own. Being a distinct type, it makes the
+   * container start its retries afresh when a record that was retried through an outage turns out
+   * to be at fault.
+   */
+  public static class UnprocessableRegistrationException extends BatchListenerFailedException {
+    public UnprocessableRegistrationException(
+        String message, Throwable cause, ConsumerRecord<?, ?> record) {
+      super(message, cause, record);
+    }
+  }
+
+  @KafkaListener(
+      id = "registration-queue",
+      topics = "${participates.registration.queue.topic:summerbuild.registrations}",
+      containerFactory = "batchKafkaListenerContainerFactory",
+      autoStartup = "${participates.registration.queue.enabled:false}")
+  public void onRegistrations(
+      List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+    // Arrival order is kept within each event, which all share one partition
+    Map<UUID, List<ConsumerRecord<String, Object>>> byEvent = new LinkedHashMap<>();
+    ConsumerRecord<String, Object> undeserializable = null;
+    DeserializationException deserializationException = null;
+    for (ConsumerRecord<String, Object> record : records) {
+      deserializationException =
+          SerializationUtils.getExceptionFromHeader(
+              record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, logAccessor);
+      if (deserializationException != null) {
+        undeserializable = record;
+        break;
+      }
+      if (record.value() instanceof RegistrationRequest request) {
+        byEvent.computeIfAbsent(request.getEventId(), id -> new ArrayList<>()).add(record);
+      } else {
+        logger.warn(
+            "Skipping unexpected record at {}-{}@{}",
+            record.topic(),
+            record.partition(),
+            record.offset());
+      }
+    }
+
+    for (Map.Entry<UUID, List<ConsumerRecord<String, Object>>> batch : byEvent.entrySet()) {
+      UUID eventId = batch.getKey();
+      List<ConsumerRecord<String, Object>> eventRecords = batch.getValue();
+      try {
+        registrationQueueService.applyBatch(
+            eventId, eventRecords.stream().map(RegistrationQueueListener::request).toList());
+      } catch (RuntimeException e) {
+        if (DatabaseErrors.isTransient(e)) {
+          // Nothing is wrong with the requests, so none of them is blamed for it
+          throw new BatchListenerFailedException(
+              "Could not apply registrations for event " + eventId, e, eventRecords.get(0));
+        }
+        logger.warn("Applying registrations for event {} one at a time", eventId, e);
+        applyOneByOne(eventId, eventRecords);
+      }
+    }
+    if (undeserializable != null) {
+      // Not retryable, so the container publishes it to the dead-letter topic straight away
+      throw new BatchListenerFailedException(
+          "Could not deserialize registration", deserializationException, undeserializable);
+    }
+    acknowledgment.acknowledge();
+  }
+
+  // Batches already committed are skipped on redelivery, so the retry starts from the failed record
+  private void applyOneByOne(UUID eventId, List<ConsumerRecord<String, Object>> eventRecords) {
+    for (ConsumerRecord<String, Object> record : eventRecords) {
+      RegistrationRequest request = request(record);
+      try {
+        registrationQueueService.applyBatch(eventId, List.of(request));
+      } catch (RuntimeException e) {
+        if (DatabaseErrors.isTransient(e)) {
+          throw new BatchListenerFailedException(
+              "Could not apply registrations for event " + eventId, e, record);
+        }
+        throw new UnprocessableRegistrationException(
+            "Could not apply registration " + request.getTicketId(), e, record);
+      }
+    }
+  }
+
+  private static RegistrationRequest request(ConsumerRecord<String, Object> record) {
+    return (RegistrationRequest) record.value();
+  }
+}
@@ -0,0 +1,328 @@
+package com.example.SummerBuild.service;
+
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.dto.RegistrationRequest;
+import com.example.SummerBuild.dto.RegistrationTicketDto;
+import com.example.SummerBuild.model.DomainEventType;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.Participates;
+import com.example.SummerBuild.model.RegistrationStatus;
+import com.example.SummerBuild.model.RegistrationTicket;
+import com.example.SummerBuild.model.User;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.RegistrationTicketRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import com.example.SummerBuild.util.UuidV7Generator;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Queued registration for events that draw a rush of sign-ups.
+ *
+ * <p>Instead of one transaction per request contending on the event's row lock, requests go onto a
+ * Kafka topic keyed by event id and {@link RegistrationQueueListener} applies them in batches, one
+ * transaction and one lock per event per batch. Clients receive a ticket and poll it for the
+ * outcome. Tickets are kept for {@code participates.registration.tickets.ttl} after they were
+ * processed, or issued if they never were.
+ */
+@Service
+public class RegistrationQueueService {
+
+  private static final Logger logger = LoggerFactory.getLogger(RegistrationQueueService.class);
+
+  private final ParticipatesRepository participatesRepository;
+  private final EventsRepository eventsRepository;
+  private final UserRepository userRepository;
+  private final RegistrationTicketRepository registrationTicketRepository;
+  private final OutboxService outboxService;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final EventDetailsCache eventDetailsCache;
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final boolean enabled;
+  private final String topic;
+  private final Duration sendTimeout;
+  private final Duration ticketTtl;
+
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public static class TicketNotFoundException extends RuntimeException {
+    public TicketNotFoundException(String message) {
+      super(message);
+    }
+  }
+
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public static class QueueUnavailableException extends RuntimeException {
+    public QueueUnavailableException(String message) {
+      super(message);
+    }
+  }
+
+  public RegistrationQueueService(
+      ParticipatesRepository participatesRepository,
+      EventsRepository eventsRepository,
+      UserRepository userRepository,
+      RegistrationTicketRepository registrationTicketRepository,
+      OutboxService outboxService,
+      EntityCacheEvictor entityCacheEvictor,
+      EventDetailsCache eventDetailsCache,
+      KafkaTemplate<String, Object> kafkaTemplate,
+      @Value("${participates.registration.queue.enabled:false}") boolean enabled,
+      @Value("${participates.registration.queue.topic:summerbuild.registrations}") String topic,
+      @Value("${participates.registration.queue.send-timeout:5s}") Duration sendTimeout,
+      @Value("${participates.registration.tickets.ttl:24h}") Duration ticketTtl) {
+    this.participatesRepository = participatesRepository;
+    this.eventsRepository = eventsRepository;
+    this.userRepository = userRepository;
+    this.registrationTicketRepository = registrationTicketRepository;
+    this.outboxService = outboxService;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventDetailsCache = eventDetailsCache;
+    this.kafkaTemplate = kafkaTemplate;
+    this.enabled = enabled;
+    this.topic = topic;
+    this.sendTimeout = sendTimeout;
+    this.ticketTtl = ticketTtl;
+  }
+
+  /**
+   * Queue a registration. Returns once the ticket is stored and the broker has the request, without
+   * touching the event's row.
+   *
+   * @return a PENDING ticket to poll with {@link #getTicket}
+   * @throws QueueUnavailableException if queued registration is disabled or Kafka is unreachable
+   * @throws IllegalArgumentException if the user or event is missing
+   */
+  public RegistrationTicketDto enqueue(UUID userId, UUID eventId) {
+    if (!enabled) {
+      throw new QueueUnavailableException("Queued registration is disabled");
+    }
+    if (userId == null || eventId == null) {
+      throw new IllegalArgumentException("User and event are required");
+    }
+
+    RegistrationRequest request =
+        new RegistrationRequest(UuidV7Generator.next(), userId, eventId, LocalDateTime.now());
+    // Stored before sending, so the consumer always finds the ticket it completes
+    registrationTicketRepository.save(ticket(request, RegistrationStatus.PENDING, null));
+    try {
+      // Keyed by event, so one event's requests share a partition and are applied in order
+      kafkaTemplate
+          .send(topic, eventId.toString(), request)
+          .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      registrationTicketRepository.deleteById(request.getTicketId());
+      throw new QueueUnavailableException("Interrupted while queueing the registration");
+    } catch (ExecutionException | TimeoutException e) {
+      logger.error("Could not queue registration of user {} to event {}", userId, eventId, e);
+      registrationTicketRepository.deleteById(request.getTicketId());
+      throw new QueueUnavailableException("Could not queue the registration");
+    }
+
+    return RegistrationTicketDto.builder()
+        .ticketId(request.getTicketId())
+        .userId(userId)
+        .eventId(eventId)
+        .status(RegistrationStatus.PENDING)
+        .build();
+  }
+
+  /**
+   * Get the outcome of a queued registration, PENDING until it has been applied.
+   *
+   * @throws TicketNotFoundException if the ticket was never issued or has expired
+   */
+  @Transactional(readOnly = true)
+  public RegistrationTicketDto getTicket(UUID ticketId) {
+    return registrationTicketRepository
+        .findById(ticketId)
+        .map(this::toDto)
+        .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + ticketId));
+  }
+
+  /** Delete the tickets whose TTL has run out */
+  @Scheduled(cron = "${participates.registration.tickets.purge-cron:0 */10 * * * *}")
+  @Transactional
+  public void purgeExpiredTickets() {
+    int purged = registrationTicketRepository.deleteExpired(LocalDateTime.now().minus(ticketTtl));
+    if (purged > 0) {
+      logger.info("Purged {} expired registration tickets", purged);
+    }
+  }
+
+  /**
+   * Apply one event's queued registrations in arrival order, under a single lock of the event row.
+   *
+   * <p>Requests whose ticket already has an outcome are skipped, so a batch redelivered after a
+   * consumer crash changes nothing. A ticket purged while its request was still queued is stored
+   * again with the outcome.
+   *
+   * @return the number of requests that got an outcome
+   */
+  @Transactional
+  public int applyBatch(UUID eventId, List<RegistrationRequest> requests) {
+    Map<UUID, RegistrationRequest> byTicket = new LinkedHashMap<>();
+    for (RegistrationRequest request : requests) {
+      byTicket.putIfAbsent(request.getTicketId(), request);
+    }
+    Map<UUID, RegistrationTicket> issued = new HashMap<>();
+    for (RegistrationTicket ticket : registrationTicketRepository.findAllById(byTicket.keySet())) {
+      if (ticket.getStatus() == RegistrationStatus.PENDING) {
+        issued.put(ticket.getId(), ticket);
+      } else {
+        byTicket.remove(ticket.getId());
+      }
+    }
+    if (byTicket.isEmpty()) {
+      return 0;
+    }
+    List<RegistrationRequest> pending = new ArrayList<>(byTicket.values());
+
+    List<RegistrationTicket> tickets = new ArrayList<>(pending.size());
+    Optional<Integer> seatsRemaining = eventsRepository.lockSeatsRemaining(eventId);
+    if (seatsRemaining.isEmpty()) {
+      for (RegistrationRequest request : pending) {
+        tickets.add(outcome(issued, request, RegistrationStatus.REJECTED, "Event not found"));
+      }
+      registrationTicketRepository.saveAll(tickets);
+      return tickets.size();
+    }
+
+    Set<UUID> userIds = new HashSet<>();
+    pending.forEach(request -> userIds.add(request.getUserId()));
+    Set<UUID> knownUsers = userRepository.findExistingIds(userIds);
+    Set<UUID> participating =
+        new HashSet<>(participatesRepository.findUserIdsByEventIdAndUserIdIn(eventId, userIds));
+
+    int seatsLeft = seatsRemaining.get();
+    List<Participates> participations = new ArrayList<>();
+    for (RegistrationRequest request : pending) {
+      UUID userId = request.getUserId();
+      if (!knownUsers.contains(userId)) {
+        tickets.add(outcome(issued, request, RegistrationStatus.REJECTED, "User not found"));
+      } else if (!participating.add(userId)) {
+        tickets.add(
+            outcome(
+                issued,
+                request,
+                RegistrationStatus.REJECTED,
+                "User is already participating in this event"));
+      } else if (seatsLeft == 0) {
+        tickets.add(outcome(issued, request, RegistrationStatus.EVENT_FULL, null));
+      } else {
+        seatsLeft--;
+        participations.add(Participates.builder().userId(userId).eventId(eventId).build());
+        tickets.add(outcome(issued, request, RegistrationStatus.REGISTERED, null));
+      }
+    }
+
+    if (!participations.isEmpty()) {
+      if (eventsRepository.reserveSeats(eventId, participations.size()) == 0) {
+        throw new IllegalStateException("Seats of event " + eventId + " changed under its lock");
+      }
+      participatesRepository.saveAll(participations);
+      // One statement per user, in id order, so concurrent batches lock users consistently
+      List<UUID> registered =
+          participations.stream().map(Participates::getUserId).sorted().toList();
+      registered.forEach(userRepository::incrementEventsJoined);
+      entityCacheEvictor.evictAfterCommit(Events.class, eventId);
+      eventDetailsCache.invalidateAfterCommit(eventId);
+      entityCacheEvictor.evictAfterCommit(User.class, registered);
+
+      Iterator<Participates> saved = participations.iterator();
+      for (RegistrationTicket ticket : tickets) {
+        if (ticket.getStatus() == RegistrationStatus.REGISTERED) {
+          Participates participation = saved.next();
+          ticket.setParticipationId(participation.getId());
+          outboxService.record(
+              DomainEventType.PARTICIPANT_ADDED,
+              new DomainEventPayload.Participant(
+                  participation.getId(), participation.getUserId(), eventId));
+        }
+      }
+    }
+
+    registrationTicketRepository.saveAll(tickets);
+    return tickets.size();
+  }
+
+  /**
+   * Reject a request that could not be applied and is being sent to the dead-letter topic, so its
+   * ticket does not stay PENDING. A ticket that already has an outcome is left alone.
+   */
+  @Transactional
+  public void rejectUnprocessable(RegistrationRequest request) {
+    Map<UUID, RegistrationTicket> issued = new HashMap<>();
+    Optional<RegistrationTicket> ticket =
+        registrationTicketRepository.findById(request.getTicketId());
+    if (ticket.isPresent()) {
+      if (ticket.get().getStatus() != RegistrationStatus.PENDING) {
+        return;
+      }
+      issued.put(ticket.get().getId(), ticket.get());
+    }
+    registrationTicketRepository.save(
+        outcome(
+            issued, request, RegistrationStatus.REJECTED, "Registration could not be processed"));
+  }
+
+  // Completes the issued ticket, or stores a new one if it was purged while queued
+  private RegistrationTicket outcome(
+      Map<UUID, RegistrationTicket> issued,
+      RegistrationRequest request,
+      RegistrationStatus status,
+      String message) {
+    RegistrationTicket ticket =
+        issued.computeIfAbsent(request.getTicketId(), id -> ticket(request, status, message));
+    ticket.setStatus(status);
+    ticket.setMessage(message);
+    ticket.setProcessedAt(LocalDateTime.now());
+    return ticket;
+  }
+
+  private RegistrationTicket ticket(
+      RegistrationRequest request, RegistrationStatus status, String message) {
+    return RegistrationTicket.builder()
+        .id(request.getTicketId())
+        .userId(request.getUserId())
+        .eventId(request.getEventId())
+        .status(status)
+        .message(message)
+        .build();
+  }
+
+  private RegistrationTicketDto toDto(RegistrationTicket ticket) {
+    return RegistrationTicketDto.builder()
+        .ticketId(ticket.getId())
+        .userId(ticket.getUserId())
+        .eventId(ticket.getEventId())
+        .status(ticket.getStatus())
+        .participationId(ticket.getParticipationId())
+        .message(ticket.getMessage())
+        .processedAt(ticket.getProcessedAt())
+        .build();
+  }
+}
@@ -31,8 +31,8 @@ public class SupabaseAuthService {
   @Value("${supabase.anon.key}")
   private String supabaseApiKey;
 
-  public SupabaseAuthService() {
-    this.restTemplate = new RestTemplate();
+  public SupabaseAuthService(RestTemplate restTemplate) {
+    this.restTemplate = restTemplate;
   }
 
   public ResponseEntity<String> signup(
@@ -34,7 +34,7 @@ public class UserService {
   @Value("${supabase.auth.url}")
   private String supabaseUrl;
 
-  private final RestTemplate restTemplate = new RestTemplate();
+  private final RestTemplate restTemplate;
 
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public static class ResourceNotFoundException extends RuntimeException {
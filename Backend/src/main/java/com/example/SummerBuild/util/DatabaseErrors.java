@@ -0,0 +1,28 @@
+package com.example.SummerBuild.util;
+
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/** Tells database outages apart from failures caused by the data being written. */
+public final class DatabaseErrors {
+
+  private DatabaseErrors() {}
+
+  /**
+   * Whether the failure may go away if the same work is retried unchanged, such as a lost
+   * connection, an exhausted pool, a lock timeout or a serialization failure.
+   *
+   * @param exception the failure, checked along with its causes
+   */
+  public static boolean isTransient(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof TransientDataAccessException
+          || cause instanceof RecoverableDataAccessException
+          || cause instanceof CannotCreateTransactionException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,242 @@
+package com.example.SummerBuild.util;
+
+import com.example.SummerBuild.dto.DomainEventMessage;
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.model.DomainEventType;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link DomainEventMessage}.
+ *
+ * <p>Layout of version 1: a version byte, a type code, the id as a varint, the occurrence time as
+ * zigzag varint seconds plus varint nanos, then the payload's fields in declaration order. UUIDs
+ * are 16 raw bytes. Strings are a varint of length + 1 followed by UTF-8, with 0 for null. Nullable
+ * numbers and lists use the same + 1 convention.
+ *
+ * <p>The occurrence time is the outbox row's {@code created_at}, a wall-clock time in the database
+ * session's zone with no zone of its own. It is carried unchanged: the seconds count from
+ * 1970-01-01T00:00 on that same clock, {@link ZoneOffset#UTC} only being the arithmetic base, so a
+ * reader in any zone decodes exactly the value that was written, as it would from the JSON form.
+ *
+ * <p>Newer versions may only append fields. A reader ignores bytes after the fields it knows, and
+ * rejects versions newer than {@link #VERSION}.
+ */
+public final class DomainEventCodec {
+
+  /** Format version written as the first byte of every message */
+  public static final byte VERSION = 1;
+
+  private DomainEventCodec() {}
+
+  public static byte[] encode(DomainEventMessage message) {
+    Writer out = new Writer();
+    out.write(VERSION);
+    out.write(code(message.getType()));
+    out.writeVarLong(message.getId());
+    out.writeTimestamp(message.getOccurredAt());
+    switch (message.getPayload()) {
+      case DomainEventPayload.Event event -> {
+        out.writeUuid(event.id());
+        out.writeUuid(event.hostUuid());
+        out.writeString(event.title());
+        out.writeString(event.description());
+        out.writeNullableLong(event.capacity() == null ? null : event.capacity().longValue());
+        out.writeTimestamp(event.startTime());
+        out.writeTimestamp(event.endTime());
+        out.writeStrings(event.tags());
+      }
+      case DomainEventPayload.EventDeleted deleted -> out.writeUuid(deleted.id());
+      case DomainEventPayload.Participant participant -> {
+        out.writeUuid(participant.id());
+        out.writeUuid(participant.userId());
+        out.writeUuid(participant.eventId());
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes a message produced by {@link #encode} of this or an older version.
+   *
+   * @throws IllegalArgumentException if the data is truncated, of an unknown type or of a newer
+   *     version
+   */
+  public static DomainEventMessage decode(byte[] data) {
+    ByteBuffer in = ByteBuffer.wrap(data);
+    try {
+      byte version = in.get();
+      if (version < 1 || version > VERSION) {
+        throw new IllegalArgumentException("Unsupported domain event version " + version);
+      }
+      DomainEventType type = type(in.get());
+      long id = readVarLong(in);
+      LocalDateTime occurredAt = readTimestamp(in);
+      DomainEventPayload payload =
+          switch (type) {
+            case EVENT_CREATED, EVENT_UPDATED -> {
+              UUID eventId = readUuid(in);
+              UUID hostUuid = readUuid(in);
+              String title = readString(in);
+              String description = readString(in);
+              Long capacity = readNullableLong(in);
+              yield new DomainEventPayload.Event(
+                  eventId,
+                  hostUuid,
+                  title,
+                  description,
+                  capacity == null ? null : capacity.intValue(),
+                  readTimestamp(in),
+                  readTimestamp(in),
+                  readStrings(in));
+            }
+            case EVENT_DELETED -> new DomainEventPayload.EventDeleted(readUuid(in));
+            case PARTICIPANT_ADDED, PARTICIPANT_REMOVED ->
+                new DomainEventPayload.Participant(readUuid(in), readUuid(in), readUuid(in));
+          };
+      return new DomainEventMessage(id, type, occurredAt, payload);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated domain event", e);
+    }
+  }
+
+  // Wire codes are fixed forever, unlike the enum's ordinals
+  private static byte code(DomainEventType type) {
+    return switch (type) {
+      case EVENT_CREATED -> 1;
+      case EVENT_UPDATED -> 2;
+      case EVENT_DELETED -> 3;
+      case PARTICIPANT_ADDED -> 4;
+      case PARTICIPANT_REMOVED -> 5;
+    };
+  }
+
+  private static DomainEventType type(byte code) {
+    return switch (code) {
+      case 1 -> DomainEventType.EVENT_CREATED;
+      case 2 -> DomainEventType.EVENT_UPDATED;
+      case 3 -> DomainEventType.EVENT_DELETED;
+      case 4 -> DomainEventType.PARTICIPANT_ADDED;
+      case 5 -> DomainEventType.PARTICIPANT_REMOVED;
+      default -> throw new IllegalArgumentException("Unknown domain event type " + code);
+    };
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private static Long readNullableLong(ByteBuffer in) {
+    long raw = readVarLong(in);
+    if (raw == 0) {
+      return null;
+    }
+    long zigzag = raw - 1;
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  private static LocalDateTime readTimestamp(ByteBuffer in) {
+    long zigzag = readVarLong(in);
+    long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+    return LocalDateTime.ofEpochSecond(seconds, (int) readVarLong(in), ZoneOffset.UTC);
+  }
+
+  private static UUID readUuid(ByteBuffer in) {
+    return new UUID(in.getLong(), in.getLong());
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = (int) readVarLong(in) - 1;
+    if (length < 0) {
+      return null;
+    }
+    if (length > in.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+    in.position(in.position() + length);
+    return value;
+  }
+
+  private static List<String> readStrings(ByteBuffer in) {
+    int size = (int) readVarLong(in) - 1;
+    if (size < 0) {
+      return null;
+    }
+    List<String> values = new ArrayList<>(Math.min(size, in.remaining()));
+    for (int i = 0; i < size; i++) {
+      values.add(readString(in));
+    }
+    return values;
+  }
+
+  private static final class Writer extends ByteArrayOutputStream {
+
+    Writer() {
+      super(128);
+    }
+
+    void writeVarLong(long value) {
+      while ((value & ~0x7FL) != 0) {
+        write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      write((int) value);
+    }
+
+    void writeNullableLong(Long value) {
+      writeVarLong(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+    }
+
+    void writeTimestamp(LocalDateTime value) {
+      long seconds = value.toEpochSecond(ZoneOffset.UTC);
+      writeVarLong((seconds << 1) ^ (seconds >> 63));
+      writeVarLong(value.getNano());
+    }
+
+    void writeUuid(UUID value) {
+      writeLong(value.getMostSignificantBits());
+      writeLong(value.getLeastSignificantBits());
+    }
+
+    void writeString(String value) {
+      if (value == null) {
+        writeVarLong(0);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(bytes.length + 1L);
+      write(bytes, 0, bytes.length);
+    }
+
+    void writeStrings(List<String> values) {
+      if (values == null) {
+        writeVarLong(0);
+        return;
+      }
+      writeVarLong(values.size() + 1L);
+      values.forEach(this::writeString);
+    }
+
+    private void writeLong(long value) {
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        write((int) (value >>> shift));
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.SummerBuild.util;
+
+import com.example.SummerBuild.dto.DomainEventMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/** Kafka deserializer for consumers of the domain event topic. */
+public class DomainEventDeserializer implements Deserializer<DomainEventMessage> {
+
+  @Override
+  public DomainEventMessage deserialize(String topic, byte[] data) {
+    if (data == null) {
+      return null;
+    }
+    try {
+      return DomainEventCodec.decode(data);
+    } catch (IllegalArgumentException e) {
+      throw new SerializationException("Could not decode domain event from " + topic, e);
+    }
+  }
+}
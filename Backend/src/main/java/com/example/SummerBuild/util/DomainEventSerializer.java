@@ -0,0 +1,13 @@
+package com.example.SummerBuild.util;
+
+import com.example.SummerBuild.dto.DomainEventMessage;
+import org.apache.kafka.common.serialization.Serializer;
+
+/** Kafka serializer writing {@link DomainEventCodec}'s binary format, without type headers. */
+public class DomainEventSerializer implements Serializer<DomainEventMessage> {
+
+  @Override
+  public byte[] serialize(String topic, DomainEventMessage data) {
+    return data == null ? null : DomainEventCodec.encode(data);
+  }
+}
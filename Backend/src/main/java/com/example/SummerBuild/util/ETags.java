@@ -0,0 +1,73 @@
+package com.example.SummerBuild.util;
+
+import com.example.SummerBuild.dto.BaseDto;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong entity tags and modification dates for conditional GET requests.
+ *
+ * <p>Controllers set them on their {@code ResponseEntity}; Spring then compares them with the
+ * request's {@code If-None-Match} and {@code If-Modified-Since} headers and answers 304 Not
+ * Modified without writing the body.
+ */
+public final class ETags {
+
+  private ETags() {}
+
+  /**
+   * Tag of an exact representation.
+   *
+   * @param body the bytes sent to the client
+   * @return quoted strong entity tag
+   */
+  public static String of(byte[] body) {
+    return quote(DigestUtils.md5DigestAsHex(body));
+  }
+
+  /**
+   * Tag of a collection, derived from the id and {@code updatedAt} of each element in order.
+   *
+   * <p>Adding, removing, reordering or updating an element changes the tag, as long as every update
+   * bumps {@code updatedAt}.
+   *
+   * @param items the elements of the response
+   * @param id reads the id of an element
+   * @return quoted strong entity tag
+   */
+  public static <T extends BaseDto> String ofCollection(Collection<T> items, Function<T, UUID> id) {
+    StringBuilder version = new StringBuilder().append(items.size());
+    for (T item : items) {
+      version.append('|').append(id.apply(item)).append('@').append(item.getUpdatedAt());
+    }
+    return quote(DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Sets the validators of a resource on a response.
+   *
+   * <p>Timestamps are written in the server's time zone, see {@code BaseEntity}.
+   *
+   * @param etag quoted entity tag
+   * @param updatedAt the resource's modification date, omitted when {@code null}
+   * @return the same builder
+   */
+  public static ResponseEntity.BodyBuilder validators(
+      ResponseEntity.BodyBuilder response, String etag, LocalDateTime updatedAt) {
+    response.eTag(etag);
+    if (updatedAt != null) {
+      response.lastModified(updatedAt.atZone(ZoneId.systemDefault()));
+    }
+    return response;
+  }
+
+  private static String quote(String tag) {
+    return '"' + tag + '"';
+  }
+}
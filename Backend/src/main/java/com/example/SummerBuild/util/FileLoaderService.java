@@ -1,13 +1,31 @@
 package com.example.SummerBuild.util;
 
+import com.example.SummerBuild.dto.FileUploadResult;
+import com.example.SummerBuild.dto.FileUploadResult.Status;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -29,84 +47,251 @@ public class FileLoaderService {
   @Value("${supabase.service.key}")
   private String supabaseApiKey;
 
-  public FileLoaderService() {
-    this.restTemplate = new RestTemplate();
+  @Value("${storage.upload.parallelism:4}")
+  private int uploadParallelism;
+
+  // Object path -> whether it exists in storage
+  private final Cache<String, Boolean> existsCache;
+
+  public FileLoaderService(
+      RestTemplate restTemplate,
+      @Value("${storage.exists-cache.ttl:30s}") Duration existsCacheTtl) {
+    this.restTemplate = restTemplate;
+    this.existsCache =
+        Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(existsCacheTtl).build();
     logger.info("FileLoaderService initialized");
   }
 
-  public String uploadFile(List<MultipartFile> files, UUID eventUuid, UUID hostUuid) {
-    logger.info("Starting file upload for event: {}", eventUuid);
+  /**
+   * Uploads the pictures of an event to storage, several at a time.
+   *
+   * <p>Files are uploaded on virtual threads, at most {@code storage.upload.parallelism} at once
+   * per call. The batch is all or nothing as far as storage allows: once a file fails, files not
+   * yet started are skipped, those in flight are cancelled and those this call created are deleted
+   * again. Files are created without overwriting; one whose name is taken replaces the object in a
+   * second request and is kept, since the previous version cannot be restored.
+   *
+   * @return one result per file, in the order of {@code files}
+   */
+  public List<FileUploadResult> uploadFiles(
+      List<MultipartFile> files, UUID eventUuid, UUID hostUuid) {
+    logger.info("Starting upload of {} files for event: {}", files.size(), eventUuid);
 
-    for (MultipartFile file : files) {
-      if (file.isEmpty()) {
-        logger.error("Failed to upload file: File is empty");
-        return null;
+    // Reject the batch before anything reaches storage
+    List<FileUploadResult> invalid = validate(files);
+    if (!invalid.isEmpty()) {
+      return invalid;
+    }
+
+    Semaphore permits = new Semaphore(uploadParallelism);
+    AtomicBoolean aborted = new AtomicBoolean();
+    // Written by the uploads themselves, so a cancelled upload still reports what it did
+    AtomicReferenceArray<FileUploadResult> outcomes = new AtomicReferenceArray<>(files.size());
+    List<Future<?>> uploads = new ArrayList<>();
+    // close() waits for every upload to finish, including cancelled ones
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletionService<FileUploadResult> completion = new ExecutorCompletionService<>(executor);
+      for (int i = 0; i < files.size(); i++) {
+        MultipartFile file = files.get(i);
+        int index = i;
+        uploads.add(
+            completion.submit(
+                () -> {
+                  FileUploadResult result =
+                      uploadWithPermit(file, eventUuid, hostUuid, permits, aborted);
+                  outcomes.set(index, result);
+                  return result;
+                }));
+      }
+      awaitFirstFailure(completion, files.size(), aborted);
+      if (aborted.get()) {
+        // Interrupts the uploads in flight, those still waiting for a permit are skipped
+        uploads.forEach(upload -> upload.cancel(true));
       }
+    }
+
+    List<FileUploadResult> results = new ArrayList<>();
+    for (int i = 0; i < files.size(); i++) {
+      // No outcome if it was cancelled before it started
+      FileUploadResult outcome = outcomes.get(i);
+      results.add(
+          outcome != null ? outcome : FileUploadResult.skipped(files.get(i).getOriginalFilename()));
+    }
 
+    if (!FileUploadResult.allUploaded(results)) {
+      logger.warn("Upload failed for event: {}, removing files already uploaded", eventUuid);
+      results.replaceAll(
+          result -> result.getStatus() == Status.UPLOADED ? rollBack(eventUuid, result) : result);
+      return results;
+    }
+    logger.info("All files uploaded successfully for event: {}", eventUuid);
+    return results;
+  }
+
+  private List<FileUploadResult> validate(List<MultipartFile> files) {
+    List<FileUploadResult> results = new ArrayList<>();
+    boolean valid = true;
+    for (MultipartFile file : files) {
       String fileName = file.getOriginalFilename();
       if (fileName == null || fileName.isEmpty()) {
         logger.error("Failed to upload file: File name is empty");
-        return "file name is empty, upload failed";
+        results.add(FileUploadResult.failed(fileName, "File name is empty"));
+        valid = false;
+      } else if (file.isEmpty()) {
+        logger.error("Failed to upload file: File is empty");
+        results.add(FileUploadResult.failed(fileName, "File is empty"));
+        valid = false;
+      } else {
+        results.add(FileUploadResult.skipped(fileName));
       }
+    }
+    return valid ? List.of() : results;
+  }
 
-      String fullFilePath = buildFileUrl(eventUuid.toString(), fileName);
-      logger.info("Preparing to upload file: {}", fullFilePath);
+  // Waits until every upload is done or one has failed, in which case aborted is set
+  private void awaitFirstFailure(
+      CompletionService<FileUploadResult> completion, int uploads, AtomicBoolean aborted) {
+    try {
+      for (int done = 0; done < uploads; done++) {
+        if (!completion.take().get().isUploaded()) {
+          aborted.set(true);
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      aborted.set(true);
+    } catch (ExecutionException e) {
+      aborted.set(true);
+    }
+  }
+
+  private FileUploadResult uploadWithPermit(
+      MultipartFile file, UUID eventUuid, UUID hostUuid, Semaphore permits, AtomicBoolean aborted) {
+    String fileName = file.getOriginalFilename();
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return FileUploadResult.skipped(fileName);
+    }
+    try {
+      if (aborted.get()) {
+        return FileUploadResult.skipped(fileName);
+      }
+      FileUploadResult result = upload(file, eventUuid, hostUuid, aborted);
+      if (!result.isUploaded()) {
+        if (aborted.get()) {
+          // Whether storage got the object is unknown, so it is left in place
+          logger.warn("Upload of {} cancelled after another file failed", fileName);
+          return FileUploadResult.failed(fileName, "Upload cancelled");
+        }
+        aborted.set(true);
+      }
+      return result;
+    } finally {
+      permits.release();
+    }
+  }
 
+  private FileUploadResult upload(
+      MultipartFile file, UUID eventUuid, UUID hostUuid, AtomicBoolean aborted) {
+    String fileName = file.getOriginalFilename();
+    String fullFilePath = buildFileUrl(eventUuid.toString(), fileName);
+    logger.info("Preparing to upload file: {}", fullFilePath);
+
+    try {
+      ResponseEntity<String> response;
+      boolean replaced = false;
       try {
-        byte[] fileBytes = file.getBytes();
-        logger.info("File bytes obtained for file: {}", fileName);
+        // Create only, so rolling back never deletes an object that was there before this call
+        response = send(file, fullFilePath, hostUuid, false);
+      } catch (HttpClientErrorException e) {
+        if (!isDuplicate(e) || aborted.get()) {
+          throw e;
+        }
+        logger.info("File {} already exists, replacing it", fileName);
+        response = send(file, fullFilePath, hostUuid, true);
+        replaced = true;
+      }
 
-        HttpHeaders headers = buildHeaders();
-        headers.set("x-upsert", "true");
-        headers.set("cache-control", "3600");
-        headers.set("metadata", String.format("{\"owner_id\":\"%s\"}", hostUuid.toString()));
+      if (response.getStatusCode().is2xxSuccessful()) {
+        logger.info(
+            "File {} uploaded successfully with status code: {}",
+            fileName,
+            response.getStatusCode().value());
+        existsCache.put(objectPath(eventUuid.toString(), fileName), true);
+        return replaced ? FileUploadResult.replaced(fileName) : FileUploadResult.uploaded(fileName);
+      }
+      logger.warn("Unexpected status code: {}", response.getStatusCode().value());
+      return FileUploadResult.failed(
+          fileName, "Upload failed with unexpected status: " + response.getStatusCode().value());
 
-        HttpEntity<byte[]> requestEntity = new HttpEntity<>(fileBytes, headers);
+    } catch (HttpClientErrorException | HttpServerErrorException e) {
+      logger.error(
+          "Error during file upload: {} - {}",
+          e.getStatusCode().value(),
+          e.getResponseBodyAsString());
+      return FileUploadResult.failed(fileName, "Upload failed: " + e.getStatusCode().value());
+    } catch (Exception e) {
+      logger.error("Failed to upload file due to exception: {}", e.getMessage());
+      return FileUploadResult.failed(
+          fileName, "Upload failed due to unexpected error: " + e.getMessage());
+    }
+  }
 
-        ResponseEntity<String> response =
-            restTemplate.exchange(fullFilePath, HttpMethod.POST, requestEntity, String.class);
+  private ResponseEntity<String> send(
+      MultipartFile file, String fullFilePath, UUID hostUuid, boolean upsert) {
+    HttpHeaders headers = buildHeaders();
+    headers.set("x-upsert", String.valueOf(upsert));
+    headers.set("cache-control", "3600");
+    headers.set("metadata", String.format("{\"owner_id\":\"%s\"}", hostUuid.toString()));
+    headers.setContentType(contentTypeOf(file));
+    headers.setContentLength(file.getSize());
 
-        if (response.getStatusCode().is2xxSuccessful()) {
-          logger.info(
-              "File uploaded successfully with status code: {}", response.getStatusCode().value());
-        } else {
-          logger.warn("Unexpected status code: {}", response.getStatusCode().value());
-          return "Upload failed with unexpected status: " + response.getStatusCode().value();
-        }
+    // Stream the part straight from the container's temp file through a small copy buffer
+    // instead of loading the whole file into the heap
+    HttpEntity<Resource> requestEntity = new HttpEntity<>(file.getResource(), headers);
+    return restTemplate.exchange(fullFilePath, HttpMethod.POST, requestEntity, String.class);
+  }
 
-      } catch (HttpClientErrorException | HttpServerErrorException e) {
-        logger.error(
-            "Error during file upload: {} - {}",
-            e.getStatusCode().value(),
-            e.getResponseBodyAsString());
-        return "Upload failed: " + e.getStatusCode().value();
-      } catch (Exception e) {
-        logger.error("Failed to upload file due to exception: {}", e.getMessage());
-        return "Upload failed due to unexpected error: " + e.getMessage();
-      }
+  // Storage answers 409, or 400 with a Duplicate error in the body, for a name that is taken
+  private boolean isDuplicate(HttpClientErrorException e) {
+    return e.getStatusCode().value() == 409
+        || (e.getStatusCode().value() == 400 && e.getResponseBodyAsString().contains("Duplicate"));
+  }
+
+  private FileUploadResult rollBack(UUID eventUuid, FileUploadResult uploaded) {
+    if (!deleteObject(eventUuid.toString(), uploaded.getFileName())) {
+      logger.error("Could not remove {} after failed upload", uploaded.getFileName());
     }
-    logger.info("All files uploaded successfully for event: {}", eventUuid);
-    return "Files uploaded successfully";
+    return uploaded.rolledBack();
   }
 
   public String getFilePath(String eventId, String fileName) {
     // Only returns a path if the file exists
 
-    String filePath = buildFileUrl(eventId, fileName);
-    if (!fileExists(filePath)) {
+    if (!fileExists(eventId, fileName)) {
       return null;
     }
     return buildPublicFileUrl(eventId, fileName);
   }
 
   public boolean deleteFile(String eventId, String fileName) {
-    String filePath = buildFileUrl(eventId, fileName);
-
-    if (!fileExists(filePath)) {
+    if (!fileExists(eventId, fileName)) {
       logger.warn("File not found for deletion: {}", fileName);
       return false;
     }
 
+    boolean deleted = deleteObject(eventId, fileName);
+    if (deleted) {
+      logger.info("File deleted successfully: {}", fileName);
+    }
+    return deleted;
+  }
+
+  private boolean deleteObject(String eventId, String fileName) {
+    String filePath = buildFileUrl(eventId, fileName);
     try {
       HttpHeaders headers = buildHeaders();
       HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
@@ -115,14 +300,13 @@ public class FileLoaderService {
           restTemplate.exchange(filePath, HttpMethod.DELETE, requestEntity, String.class);
 
       if (response.getStatusCode().is2xxSuccessful()) {
-        logger.info("File deleted successfully: {}", fileName);
+        existsCache.put(objectPath(eventId, fileName), false);
         return true;
-      } else {
-        logger.warn(
-            "Failed to delete file: {} - Status code: {}",
-            fileName,
-            response.getStatusCode().value());
       }
+      logger.warn(
+          "Failed to delete file: {} - Status code: {}",
+          filePath,
+          response.getStatusCode().value());
     } catch (Exception e) {
       logger.error("Exception during file deletion: {}", e.getMessage());
     }
@@ -130,17 +314,36 @@ public class FileLoaderService {
     return false;
   }
 
-  private boolean fileExists(String filePath) {
+  /**
+   * Checks whether an object exists with a HEAD request, so no content is transferred. Answers are
+   * cached for {@code storage.exists-cache.ttl}; uploads and deletes made through this instance
+   * update the cache immediately, changes made elsewhere show up once the entry expires.
+   */
+  private boolean fileExists(String eventId, String fileName) {
+    String objectPath = objectPath(eventId, fileName);
+    Boolean cached = existsCache.getIfPresent(objectPath);
+    if (cached != null) {
+      return cached;
+    }
+
     try {
       HttpHeaders headers = buildHeaders();
       HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
 
-      ResponseEntity<byte[]> response =
-          restTemplate.exchange(filePath, HttpMethod.GET, requestEntity, byte[].class);
+      ResponseEntity<Void> response =
+          restTemplate.exchange(
+              supabaseUrl + "/storage/v1/object/authenticated/" + objectPath,
+              HttpMethod.HEAD,
+              requestEntity,
+              Void.class);
 
-      return response.getStatusCode().is2xxSuccessful();
+      boolean exists = response.getStatusCode().is2xxSuccessful();
+      existsCache.put(objectPath, exists);
+      return exists;
     } catch (HttpClientErrorException e) {
-      if (e.getStatusCode().value() == 404) {
+      // Storage answers 400 as well as 404 for a missing object
+      if (e.getStatusCode().value() == 404 || e.getStatusCode().value() == 400) {
+        existsCache.put(objectPath, false);
         return false;
       }
       logger.error("Error checking file existence: {}", e.getMessage());
@@ -152,13 +355,26 @@ public class FileLoaderService {
   }
 
   // helper methods
-  private String buildFileUrl(String eventUuid, String fileName) {
+  private String objectPath(String eventUuid, String fileName) {
     String path = bucketName + "/";
     if (eventUuid != null) {
       path += eventUuid + "/";
     }
-    path += fileName;
-    return supabaseUrl + "/storage/v1/object/" + path;
+    return path + fileName;
+  }
+
+  private String buildFileUrl(String eventUuid, String fileName) {
+    return supabaseUrl + "/storage/v1/object/" + objectPath(eventUuid, fileName);
+  }
+
+  private MediaType contentTypeOf(MultipartFile file) {
+    try {
+      return file.getContentType() != null
+          ? MediaType.parseMediaType(file.getContentType())
+          : MediaType.APPLICATION_OCTET_STREAM;
+    } catch (InvalidMediaTypeException e) {
+      return MediaType.APPLICATION_OCTET_STREAM;
+    }
   }
 
   private HttpHeaders buildHeaders() {
@@ -168,11 +384,6 @@ public class FileLoaderService {
   }
 
   private String buildPublicFileUrl(String eventUuid, String fileName) {
-    String path = bucketName + "/";
-    if (eventUuid != null) {
-      path += eventUuid + "/";
-    }
-    path += fileName;
-    return supabaseUrl + "/storage/v1/object/public/" + path;
+    return supabaseUrl + "/storage/v1/object/public/" + objectPath(eventUuid, fileName);
   }
 }
@@ -0,0 +1,61 @@
+package com.example.SummerBuild.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Position of the last row of a keyset-paginated page, ordered by {@code (start_time, id)}.
+ *
+ * <p>Clients only ever see the encoded form, an opaque URL-safe token they hand back to fetch the
+ * next page. The format is an implementation detail and may change between releases.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class KeysetCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private final LocalDateTime startTime;
+  private final UUID id;
+
+  /**
+   * Encodes this position as an opaque continuation token.
+   *
+   * @return URL-safe token
+   */
+  public String encode() {
+    String raw = startTime + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a continuation token produced by {@link #encode()}.
+   *
+   * @param token the token sent by the client
+   * @return the decoded position
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static KeysetCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Malformed cursor");
+      }
+      return new KeysetCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          UUID.fromString(raw.substring(separator + 1)));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.SummerBuild.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * An uploaded part moved to the media spool directory, so it outlives the request that carried it.
+ */
+public class SpooledFile implements MultipartFile {
+
+  private final String name;
+  private final String originalFilename;
+  private final String contentType;
+  private final long size;
+  private final Path path;
+
+  private SpooledFile(
+      String name, String originalFilename, String contentType, long size, Path path) {
+    this.name = name;
+    this.originalFilename = originalFilename;
+    this.contentType = contentType;
+    this.size = size;
+    this.path = path;
+  }
+
+  /**
+   * Moves a part to {@code target}. A part the container already wrote to disk is renamed if the
+   * spool directory is on the same file system, anything else is copied.
+   */
+  public static SpooledFile spool(MultipartFile part, Path target) throws IOException {
+    // transferTo(Path) always copies; the container can only rename through transferTo(File)
+    part.transferTo(target.toAbsolutePath().toFile());
+    return new SpooledFile(
+        part.getName(), part.getOriginalFilename(), part.getContentType(), part.getSize(), target);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getOriginalFilename() {
+    return originalFilename;
+  }
+
+  @Override
+  public String getContentType() {
+    return contentType;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public long getSize() {
+    return size;
+  }
+
+  @Override
+  public byte[] getBytes() throws IOException {
+    return Files.readAllBytes(path);
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return Files.newInputStream(path);
+  }
+
+  @Override
+  public void transferTo(java.io.File dest) throws IOException {
+    transferTo(dest.toPath());
+  }
+
+  @Override
+  public void transferTo(Path dest) throws IOException {
+    Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.SummerBuild.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Time-ordered UUIDs, version 7 of RFC 9562, for primary keys.
+ *
+ * <p>Random (version 4) keys land all over the primary key's B-tree, so every insert touches a
+ * different leaf page. These start with the creation time in milliseconds, so new rows go to the
+ * right-most pages, which stay cached, and pages fill up instead of splitting half-empty.
+ *
+ * <p>The 12 bits after the timestamp count up within a millisecond (method 1 of RFC 9562, section
+ * 6.2), so keys from this JVM are strictly increasing. The remaining 62 bits are random, keeping
+ * keys hard to guess.
+ *
+ * <p>Used by entities through {@code @UuidGenerator(algorithm = UuidV7Generator.class)}.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  // Unix time in milliseconds shifted left by 12, plus the counter within that millisecond
+  private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+  @Override
+  public UUID generateUuid(SharedSessionContractImplementor session) {
+    return next();
+  }
+
+  /** Returns a new version 7 UUID, greater than every one this JVM returned before. */
+  public static UUID next() {
+    long now = System.currentTimeMillis() << 12;
+    // A counter overflow borrows the next millisecond rather than going backwards
+    long timestampAndCounter =
+        LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(last + 1, now));
+
+    long mostSigBits =
+        ((timestampAndCounter >>> 12) << 16) | 0x7000L | (timestampAndCounter & 0xFFFL);
+    long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
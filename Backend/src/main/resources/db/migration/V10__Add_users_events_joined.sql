@@ -0,0 +1,7 @@
+-- Events joined per user, kept in step with participates like events.seats_taken
+ALTER TABLE users ADD COLUMN events_joined INT NOT NULL DEFAULT 0 CHECK (events_joined >= 0);
+
+UPDATE users u
+SET events_joined = p.joined
+FROM (SELECT user_id, COUNT(*) AS joined FROM participates GROUP BY user_id) p
+WHERE p.user_id = u.id;
@@ -0,0 +1,3 @@
+-- Progress of the asynchronous upload of an event's pictures
+ALTER TABLE events ADD COLUMN media_status VARCHAR(20) NOT NULL DEFAULT 'NONE'
+    CHECK (media_status IN ('NONE', 'PENDING', 'READY', 'FAILED'));
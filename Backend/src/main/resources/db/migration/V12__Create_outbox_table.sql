@@ -0,0 +1,9 @@
+-- Domain events written in the same transaction as the change they describe, relayed to Kafka
+-- by OutboxRelay and deleted once the broker has acknowledged them
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
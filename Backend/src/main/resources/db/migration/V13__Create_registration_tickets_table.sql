@@ -0,0 +1,11 @@
+-- Outcome of each queued registration, written by the consumer in the same transaction as the
+-- participation. A ticket without a row is still waiting in the queue.
+CREATE TABLE registration_tickets (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    event_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('REGISTERED', 'EVENT_FULL', 'REJECTED')),
+    participation_id UUID,
+    message VARCHAR(255),
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
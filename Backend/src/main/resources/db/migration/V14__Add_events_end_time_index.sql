@@ -0,0 +1,5 @@
+-- Active and window queries bound end_time from below and start_time from above. Neither column
+-- alone is selective: past events all start before now, upcoming ones all end after it. Leading
+-- with end_time skips the past events, the trailing start_time filters the rest inside the index.
+-- Upcoming events are served by idx_events_start_time_id.
+CREATE INDEX idx_events_end_time ON events(end_time, start_time);
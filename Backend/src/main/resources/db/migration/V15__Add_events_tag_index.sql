@@ -0,0 +1,3 @@
+-- Tag filters are array overlap (tag && ?) and containment (tag @> ?) tests, which a B-tree
+-- cannot serve. The default GIN operator class for arrays supports both.
+CREATE INDEX idx_events_tag ON events USING gin (tag);
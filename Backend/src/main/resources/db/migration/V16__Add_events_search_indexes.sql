@@ -0,0 +1,13 @@
+-- Full-text search over title and description. The vector is a generated column, so PostgreSQL
+-- recomputes it whenever either column changes; title matches weigh more than description ones.
+ALTER TABLE events ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_events_search ON events USING gin (search_vector);
+
+-- Trigrams catch misspelled titles that full-text stemming cannot match
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_events_title_trgm ON events USING gin (title gin_trgm_ops);
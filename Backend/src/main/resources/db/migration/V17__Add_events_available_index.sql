@@ -0,0 +1,6 @@
+-- Browsing lists upcoming events with seats left, in keyset order. The partial index holds only
+-- events that are not full, so the scan skips full events instead of filtering them out row by
+-- row. now() cannot appear in an index predicate, the leading start_time bounds the scan instead.
+-- seats_taken becomes an indexed column, so seat updates are no longer HOT updates.
+CREATE INDEX idx_events_available ON events(start_time, id)
+    WHERE capacity IS NULL OR seats_taken < capacity;
@@ -0,0 +1,6 @@
+-- OutboxRelay leases a batch while it waits for Kafka outside any transaction. Only one lease is
+-- live at a time, an expired one belongs to a relay that died and its rows are sent again.
+-- Rows that keep failing, or cannot be read at all, are parked and left for an operator.
+ALTER TABLE outbox ADD COLUMN claimed_until TIMESTAMP;
+ALTER TABLE outbox ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE outbox ADD COLUMN parked_at TIMESTAMP;
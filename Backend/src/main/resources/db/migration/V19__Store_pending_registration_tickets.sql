@@ -0,0 +1,11 @@
+-- Tickets are now stored as PENDING when issued, so a lookup can tell a queued registration from an
+-- id that was never issued. Every ticket is purged a while after it was processed, or issued if it
+-- never was, through the expression index below.
+ALTER TABLE registration_tickets DROP CONSTRAINT registration_tickets_status_check;
+ALTER TABLE registration_tickets ADD CONSTRAINT registration_tickets_status_check
+    CHECK (status IN ('PENDING', 'REGISTERED', 'EVENT_FULL', 'REJECTED'));
+ALTER TABLE registration_tickets ADD COLUMN created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE registration_tickets ALTER COLUMN processed_at DROP NOT NULL;
+ALTER TABLE registration_tickets ALTER COLUMN processed_at DROP DEFAULT;
+CREATE INDEX idx_registration_tickets_expiry
+    ON registration_tickets ((COALESCE(processed_at, created_at)));
@@ -0,0 +1,2 @@
+-- Keyset pagination of the events listing orders by (start_time, id)
+CREATE INDEX idx_events_start_time_id ON events(start_time, id);
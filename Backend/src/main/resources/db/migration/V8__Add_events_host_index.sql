@@ -0,0 +1,3 @@
+-- Enables the host index left commented out in V3. Trailing (start_time, id) lets a host's page
+-- be read in order straight from the index.
+CREATE INDEX idx_events_host_id ON events(host_id, start_time, id);
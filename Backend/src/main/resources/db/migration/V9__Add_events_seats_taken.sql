@@ -0,0 +1,7 @@
+-- Seats already taken per event, kept in step with participates by conditional updates
+ALTER TABLE events ADD COLUMN seats_taken INT NOT NULL DEFAULT 0 CHECK (seats_taken >= 0);
+
+UPDATE events e
+SET seats_taken = p.taken
+FROM (SELECT event_id, COUNT(*) AS taken FROM participates GROUP BY event_id) p
+WHERE p.event_id = e.id;
@@ -0,0 +1,85 @@
+package com.example.SummerBuild.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class KafkaBackpressureMonitorTest {
+
+  @Mock private KafkaListenerEndpointRegistry registry;
+  @Mock private MessageListenerContainer container;
+  @Mock private HikariDataSource dataSource;
+  @Mock private HikariPoolMXBean pool;
+
+  private KafkaBackpressureMonitor monitor;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+    when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+    when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+    when(registry.getListenerContainers()).thenReturn(List.of(container));
+    when(pool.getTotalConnections()).thenReturn(10);
+    monitor = new KafkaBackpressureMonitor(registry, dataSource, 0.9, 0.5);
+  }
+
+  @Test
+  @DisplayName("check - pauses once the pool is saturated and resumes only after it drains")
+  void check_saturatedThenDrained_pausesAndResumes() {
+    when(pool.getActiveConnections()).thenReturn(9);
+    monitor.check();
+    assertThat(monitor.isPaused()).isTrue();
+    verify(container).pause();
+
+    // Below the pause threshold but above the resume threshold: stay paused
+    when(pool.getActiveConnections()).thenReturn(7);
+    monitor.check();
+    assertThat(monitor.isPaused()).isTrue();
+    verify(container, never()).resume();
+
+    when(pool.getActiveConnections()).thenReturn(4);
+    monitor.check();
+    assertThat(monitor.isPaused()).isFalse();
+    verify(container).resume();
+  }
+
+  @Test
+  @DisplayName("check - threads waiting for a connection pause the listeners")
+  void check_threadsWaiting_pauses() {
+    when(pool.getActiveConnections()).thenReturn(2);
+    when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+    monitor.check();
+    monitor.check();
+
+    verify(container, times(1)).pause();
+  }
+
+  @Test
+  @DisplayName("check - pool not started yet, nothing happens")
+  void check_poolNotStarted_doesNothing() {
+    when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+
+    monitor.check();
+
+    verify(container, never()).pause();
+  }
+}
@@ -1,7 +1,9 @@
 package com.example.SummerBuild.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -10,14 +12,24 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.SummerBuild.dto.EventTitleDto;
 import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.dto.EventsPageDto;
+import com.example.SummerBuild.model.MediaStatus;
+import com.example.SummerBuild.service.EventDetailsCache;
+import com.example.SummerBuild.service.EventMediaService;
 import com.example.SummerBuild.service.EventsService;
 import com.example.SummerBuild.service.EventsService.ResourceNotFoundException;
+import com.example.SummerBuild.util.ETags;
 import com.example.SummerBuild.util.FileLoaderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -26,9 +38,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.mock.web.MockMultipartFile;
@@ -44,6 +58,7 @@ class EventsControllerTest {
 
   @Mock private EventsService eventsService;
   @Mock private FileLoaderService fileLoaderService;
+  @Mock private EventMediaService eventMediaService;
   @Mock private Authentication authentication;
 
   @InjectMocks private EventsController eventsController;
@@ -58,6 +73,7 @@ class EventsControllerTest {
     mockMvc =
         MockMvcBuilders.standaloneSetup(eventsController)
             .setMessageConverters(
+                new org.springframework.http.converter.ByteArrayHttpMessageConverter(),
                 new org.springframework.http.converter.StringHttpMessageConverter(),
                 new MappingJackson2HttpMessageConverter())
             .build();
@@ -89,40 +105,201 @@ class EventsControllerTest {
   @DisplayName("GET /api/events - happy flow")
   void whenGetAllEvents_happyFlow_returns200() throws Exception {
     List<EventsDto> events = Arrays.asList(testEventDto);
-    given(eventsService.findAll()).willReturn(events);
+    given(eventsService.findPage(any(EventsFilter.class), isNull(), isNull()))
+        .willReturn(new EventsPageDto(events, null));
 
     mockMvc
         .perform(get("/api/events"))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$[0].title").value("Test Event"))
-        .andExpect(jsonPath("$[0].capacity").value(100));
+        .andExpect(jsonPath("$[0].capacity").value(100))
+        .andExpect(header().doesNotExist(EventsController.NEXT_CURSOR_HEADER));
 
-    verify(eventsService).findAll();
+    verify(eventsService).findPage(any(EventsFilter.class), isNull(), isNull());
+  }
+
+  @Test
+  @DisplayName("GET /api/events - more pages - returns next cursor header")
+  void whenGetAllEvents_morePages_returnsCursorHeader() throws Exception {
+    List<EventsDto> events = Arrays.asList(testEventDto);
+    given(eventsService.findPage(any(EventsFilter.class), eq("abc"), eq(1)))
+        .willReturn(new EventsPageDto(events, "def"));
+
+    mockMvc
+        .perform(
+            get("/api/events")
+                .param("cursor", "abc")
+                .param("limit", "1")
+                .param("hostUuid", testHostId.toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].title").value("Test Event"))
+        .andExpect(header().string(EventsController.NEXT_CURSOR_HEADER, "def"));
+
+    ArgumentCaptor<EventsFilter> filter = ArgumentCaptor.forClass(EventsFilter.class);
+    verify(eventsService).findPage(filter.capture(), eq("abc"), eq(1));
+    assertThat(filter.getValue().getHostUuid()).isEqualTo(testHostId);
+  }
+
+  @Test
+  @DisplayName("GET /api/events - participant and available - filter registered events with seats")
+  void whenGetAllEvents_participant_filtersRegisteredEvents() throws Exception {
+    UUID userId = UUID.randomUUID();
+    given(eventsService.findPage(any(EventsFilter.class), isNull(), isNull()))
+        .willReturn(new EventsPageDto(Arrays.asList(testEventDto), null));
+
+    mockMvc
+        .perform(
+            get("/api/events")
+                .param("participantUuid", userId.toString())
+                .param("available", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].title").value("Test Event"));
+
+    ArgumentCaptor<EventsFilter> filter = ArgumentCaptor.forClass(EventsFilter.class);
+    verify(eventsService).findPage(filter.capture(), isNull(), isNull());
+    assertThat(filter.getValue().getParticipantUuid()).isEqualTo(userId);
+    assertThat(filter.getValue().isAvailableOnly()).isTrue();
+  }
+
+  @Test
+  @DisplayName("GET /api/events - tags with allTags - filters on every tag")
+  void whenGetAllEvents_allTags_filtersOnEveryTag() throws Exception {
+    given(eventsService.findPage(any(EventsFilter.class), isNull(), isNull()))
+        .willReturn(new EventsPageDto(Arrays.asList(testEventDto), null));
+
+    mockMvc
+        .perform(get("/api/events").param("tags", "music", "outdoor").param("allTags", "true"))
+        .andExpect(status().isOk());
+
+    ArgumentCaptor<EventsFilter> filter = ArgumentCaptor.forClass(EventsFilter.class);
+    verify(eventsService).findPage(filter.capture(), isNull(), isNull());
+    assertThat(filter.getValue().getTagsAll()).containsExactly("music", "outdoor");
+    assertThat(filter.getValue().getTagsAny()).isNull();
+  }
+
+  @Test
+  @DisplayName("GET /api/events/upcoming - returns the page and next cursor header")
+  void whenGetUpcomingEvents_returnsPage() throws Exception {
+    given(eventsService.findUpcoming(isNull(), eq(1), eq(true)))
+        .willReturn(new EventsPageDto(Arrays.asList(testEventDto), "def"));
+
+    mockMvc
+        .perform(get("/api/events/upcoming").param("limit", "1").param("available", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].title").value("Test Event"))
+        .andExpect(header().string(EventsController.NEXT_CURSOR_HEADER, "def"));
+  }
+
+  @Test
+  @DisplayName("GET /api/events/window - passes the window bounds to the service")
+  void whenGetEventsInWindow_passesBounds() throws Exception {
+    LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2026, 3, 8, 0, 0);
+    given(eventsService.findOverlapping(eq(from), eq(to), isNull(), isNull()))
+        .willReturn(new EventsPageDto(Arrays.asList(testEventDto), null));
+
+    mockMvc
+        .perform(
+            get("/api/events/window")
+                .param("from", "2026-03-01T00:00:00")
+                .param("to", "2026-03-08T00:00:00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].title").value("Test Event"))
+        .andExpect(header().doesNotExist(EventsController.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  @DisplayName("GET /api/events/search - returns the service's ranked page")
+  void whenSearchEvents_returnsResults() throws Exception {
+    given(eventsService.search("jazz", 1, 5)).willReturn(Arrays.asList(testEventDto));
+
+    mockMvc
+        .perform(get("/api/events/search").param("q", "jazz").param("page", "1").param("size", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].title").value("Test Event"));
+  }
+
+  @Test
+  @DisplayName("GET /api/events/autocomplete - returns title suggestions")
+  void whenAutocomplete_returnsSuggestions() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2026, 3, 1, 19, 0);
+    given(eventsService.autocomplete("jaz", 10))
+        .willReturn(List.of(new EventTitleDto(testEventId, "Jazz Night", start)));
+
+    mockMvc
+        .perform(get("/api/events/autocomplete").param("q", "jaz"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(testEventId.toString()))
+        .andExpect(jsonPath("$[0].title").value("Jazz Night"));
   }
 
   @Test
   @DisplayName("GET /api/events/{id} - happy flow")
   void whenGetEventById_happyFlow_returns200() throws Exception {
-    given(eventsService.findById(testEventId)).willReturn(testEventDto);
+    EventDetailsCache.Entry entry = cachedEntry();
+    given(eventsService.findCachedById(testEventId)).willReturn(entry);
 
     mockMvc
         .perform(get("/api/events/{id}", testEventId))
         .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().string(HttpHeaders.ETAG, entry.etag()))
+        .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
         .andExpect(jsonPath("$.title").value("Test Event"))
         .andExpect(jsonPath("$.hostUuid").value(testHostId.toString()));
 
-    verify(eventsService).findById(testEventId);
+    verify(eventsService).findCachedById(testEventId);
+  }
+
+  @Test
+  @DisplayName("GET /api/events/{id} - matching ETag returns 304 without a body")
+  void whenGetEventById_etagMatches_returns304() throws Exception {
+    EventDetailsCache.Entry entry = cachedEntry();
+    given(eventsService.findCachedById(testEventId)).willReturn(entry);
+
+    mockMvc
+        .perform(
+            get("/api/events/{id}", testEventId).header(HttpHeaders.IF_NONE_MATCH, entry.etag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, entry.etag()))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  @DisplayName("GET /api/events/{id} - If-Modified-Since alone never returns 304")
+  void whenGetEventById_ifModifiedSince_returns200() throws Exception {
+    given(eventsService.findCachedById(testEventId)).willReturn(cachedEntry());
+
+    // Seat counts change without updatedAt, so the date cannot tell whether the body changed
+    mockMvc
+        .perform(
+            get("/api/events/{id}", testEventId)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title").value("Test Event"));
+  }
+
+  @Test
+  @DisplayName("GET /api/events/{id} - stale ETag returns the event")
+  void whenGetEventById_etagChanged_returns200() throws Exception {
+    given(eventsService.findCachedById(testEventId)).willReturn(cachedEntry());
+
+    mockMvc
+        .perform(
+            get("/api/events/{id}", testEventId).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title").value("Test Event"));
   }
 
   @Test
   @DisplayName("GET /api/events/{id} - sad flow (not found)")
   void whenGetEventById_sadFlow_returns404() throws Exception {
-    given(eventsService.findById(testEventId))
+    given(eventsService.findCachedById(testEventId))
         .willThrow(new ResourceNotFoundException("Event not found with id: " + testEventId));
 
     mockMvc.perform(get("/api/events/{id}", testEventId)).andExpect(status().isNotFound());
 
-    verify(eventsService).findById(testEventId);
+    verify(eventsService).findCachedById(testEventId);
   }
 
   @Test
@@ -130,8 +307,8 @@ class EventsControllerTest {
   void whenCreateEvent_happyFlow_returns201() throws Exception {
     given(authentication.getName()).willReturn(testHostId.toString());
     given(eventsService.create(any(EventsDto.class), eq(testHostId))).willReturn(testEventDto);
-    given(fileLoaderService.uploadFile(any(), eq(testEventId), eq(testHostId)))
-        .willReturn("Files uploaded successfully");
+    given(eventMediaService.submit(eq(testEventId), eq(testHostId), any()))
+        .willReturn(MediaStatus.PENDING);
 
     String eventJson = objectMapper.writeValueAsString(testEventDto);
     MockMultipartFile eventPart =
@@ -143,11 +320,32 @@ class EventsControllerTest {
     mockMvc
         .perform(multipart("/api/events").file(eventPart).file(filePart).principal(authentication))
         .andExpect(status().isCreated())
-        .andExpect(jsonPath("$.title").value("Test Event"));
+        .andExpect(jsonPath("$.title").value("Test Event"))
+        .andExpect(jsonPath("$.mediaStatus").value("PENDING"));
 
     verify(eventsService).create(any(EventsDto.class), eq(testHostId));
   }
 
+  @Test
+  @DisplayName("POST /api/events - files that cannot be queued return 500")
+  void whenCreateEvent_uploadFails_returns500() throws Exception {
+    given(authentication.getName()).willReturn(testHostId.toString());
+    given(eventsService.create(any(EventsDto.class), eq(testHostId))).willReturn(testEventDto);
+    given(eventMediaService.submit(eq(testEventId), eq(testHostId), any()))
+        .willThrow(new UncheckedIOException(new IOException("disk full")));
+
+    String eventJson = objectMapper.writeValueAsString(testEventDto);
+    MockMultipartFile eventPart =
+        new MockMultipartFile("event", "", MediaType.APPLICATION_JSON_VALUE, eventJson.getBytes());
+    MockMultipartFile filePart =
+        new MockMultipartFile(
+            "files", "test.jpg", MediaType.IMAGE_JPEG_VALUE, "test image content".getBytes());
+
+    mockMvc
+        .perform(multipart("/api/events").file(eventPart).file(filePart).principal(authentication))
+        .andExpect(status().isInternalServerError());
+  }
+
   @Test
   @DisplayName("POST /api/events - sad flow (invalid data)")
   void whenCreateEvent_sadFlow_returns400() throws Exception {
@@ -181,8 +379,8 @@ class EventsControllerTest {
     given(authentication.getName()).willReturn(testHostId.toString());
     given(eventsService.findById(testEventId)).willReturn(testEventDto);
     given(eventsService.update(eq(testEventId), any(EventsDto.class))).willReturn(updatedDto);
-    given(fileLoaderService.uploadFile(any(), eq(testEventId), eq(testHostId)))
-        .willReturn("Files uploaded successfully");
+    given(eventMediaService.submit(eq(testEventId), eq(testHostId), any()))
+        .willReturn(MediaStatus.PENDING);
 
     String eventJson = objectMapper.writeValueAsString(updatedDto);
     MockMultipartFile eventPart =
@@ -266,26 +464,33 @@ class EventsControllerTest {
   @DisplayName("GET /api/events/host/{hostUuid} - happy flow")
   void whenGetEventsByHost_happyFlow_returns200() throws Exception {
     List<EventsDto> events = Arrays.asList(testEventDto);
-    given(eventsService.findByHostUuid(testHostId)).willReturn(events);
+    given(eventsService.findByHostUuid(testHostId, 1, 5)).willReturn(events);
 
     mockMvc
-        .perform(get("/api/events/host/{hostUuid}", testHostId))
+        .perform(
+            get("/api/events/host/{hostUuid}", testHostId).param("page", "1").param("size", "5"))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$[0].hostUuid").value(testHostId.toString()));
 
-    verify(eventsService).findByHostUuid(testHostId);
+    verify(eventsService).findByHostUuid(testHostId, 1, 5);
   }
 
   @Test
   @DisplayName("GET /api/events/host/{hostUuid} - sad flow (empty list)")
   void whenGetEventsByHost_sadFlow_returnsEmptyList() throws Exception {
-    given(eventsService.findByHostUuid(testHostId)).willReturn(Arrays.asList());
+    given(eventsService.findByHostUuid(testHostId, 0, EventsService.DEFAULT_PAGE_SIZE))
+        .willReturn(Arrays.asList());
 
     mockMvc
         .perform(get("/api/events/host/{hostUuid}", testHostId))
         .andExpect(status().isOk())
         .andExpect(content().string("[]"));
 
-    verify(eventsService).findByHostUuid(testHostId);
+    verify(eventsService).findByHostUuid(testHostId, 0, EventsService.DEFAULT_PAGE_SIZE);
+  }
+
+  private EventDetailsCache.Entry cachedEntry() throws Exception {
+    byte[] json = objectMapper.writeValueAsBytes(testEventDto);
+    return new EventDetailsCache.Entry(testEventDto, json, ETags.of(json));
   }
 }
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.example.SummerBuild.dto.EventsDto;
 import com.example.SummerBuild.model.Events;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +57,17 @@ class EventsMapperTest {
     assertArrayEquals(event.getTags(), dto.getTags().toArray(new String[0]));
     assertEquals(event.getCreatedAt(), dto.getCreatedAt());
     assertEquals(event.getUpdatedAt(), dto.getUpdatedAt());
+    assertEquals(100, dto.getSeatsRemaining());
+  }
+
+  @Test
+  @DisplayName("toDto - seats remaining is never negative and null without a capacity")
+  void testToDto_seatsRemaining() {
+    Events overbooked = Events.builder().capacity(2).seatsTaken(3).build();
+    Events unlimited = Events.builder().seatsTaken(3).build();
+
+    assertEquals(0, eventsMapper.toDto(overbooked).getSeatsRemaining());
+    assertNull(eventsMapper.toDto(unlimited).getSeatsRemaining());
   }
 
   @Test
@@ -86,7 +98,6 @@ class EventsMapperTest {
     Events entity = eventsMapper.toEntity(dto);
 
     assertNotNull(entity);
-    assertEquals(dto.getId(), entity.getId());
     assertEquals(dto.getTitle(), entity.getTitle());
     assertEquals(dto.getHostUuid(), entity.getHostId());
     assertEquals(dto.getCapacity(), entity.getCapacity());
@@ -104,16 +115,17 @@ class EventsMapperTest {
   }
 
   @Test
-  @DisplayName("toEntity - generates UUID when dto id is null")
-  void testToEntity_nullId_generatesUuid() {
+  @DisplayName("toEntity - leaves the id to the generator")
+  void testToEntity_leavesIdUnset() {
     EventsDto dto = new EventsDto();
+    dto.setId(UUID.randomUUID());
     dto.setTitle("Test Event");
     dto.setHostUuid(UUID.randomUUID());
 
     Events entity = eventsMapper.toEntity(dto);
 
     assertNotNull(entity);
-    assertNotNull(entity.getId());
+    assertNull(entity.getId());
     assertEquals(dto.getTitle(), entity.getTitle());
   }
 
@@ -227,6 +239,30 @@ class EventsMapperTest {
     assertArrayEquals(new String[] {"original"}, entity.getTags());
   }
 
+  @Test
+  @DisplayName("copy - returns a dto with the same values that shares no mutable state")
+  void testCopy() {
+    EventsDto dto = new EventsDto();
+    dto.setId(UUID.randomUUID());
+    dto.setTitle("Test Event");
+    dto.setHostUuid(UUID.randomUUID());
+    dto.setCapacity(100);
+    dto.setStartTime(LocalDateTime.now());
+    dto.setTags(new ArrayList<>(Arrays.asList("test", "event")));
+
+    EventsDto copy = eventsMapper.copy(dto);
+
+    assertNotSame(dto, copy);
+    assertEquals(dto.getId(), copy.getId());
+    assertEquals(dto.getTitle(), copy.getTitle());
+    assertEquals(dto.getHostUuid(), copy.getHostUuid());
+    assertEquals(dto.getCapacity(), copy.getCapacity());
+    assertEquals(dto.getStartTime(), copy.getStartTime());
+    assertEquals(dto.getTags(), copy.getTags());
+    copy.getTags().add("changed");
+    assertEquals(Arrays.asList("test", "event"), dto.getTags());
+  }
+
   @Test
   @DisplayName("toDto and toEntity - round trip conversion")
   void testRoundTripConversion() {
@@ -252,7 +288,7 @@ class EventsMapperTest {
     EventsDto dto = eventsMapper.toDto(originalEntity);
     Events convertedEntity = eventsMapper.toEntity(dto);
 
-    assertEquals(originalEntity.getId(), convertedEntity.getId());
+    assertEquals(originalEntity.getId(), dto.getId());
     assertEquals(originalEntity.getTitle(), convertedEntity.getTitle());
     assertEquals(originalEntity.getHostId(), convertedEntity.getHostId());
     assertEquals(originalEntity.getCapacity(), convertedEntity.getCapacity());
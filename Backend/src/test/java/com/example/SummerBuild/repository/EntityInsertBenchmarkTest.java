@@ -0,0 +1,113 @@
+package com.example.SummerBuild.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.Participates;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures bulk entity inserts through saveAll: wall time and prepared statements for a batch of
+ * events, then a batch of participations in one of them. With JDBC batching each entity type reuses
+ * one statement for all its rows.
+ *
+ * <p>Run with {@code mvn test -Dtest=EntityInsertBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+      "spring.jpa.properties.hibernate.order_inserts=true",
+      "spring.jpa.properties.hibernate.order_updates=true",
+      "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityInsertBenchmarkTest extends AbstractPostgresTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(EntityInsertBenchmarkTest.class);
+
+  private static final int ROWS = 5_000;
+
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private ParticipatesRepository participatesRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void insertEventsAndParticipations() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    UUID hostId = saveUser();
+    List<UUID> users = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      users.add(saveUser());
+    }
+
+    List<Events> events = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      events.add(
+          Events.builder()
+              .title("Event " + i)
+              .hostId(hostId)
+              .startTime(LocalDateTime.now().plusDays(1))
+              .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+              .build());
+    }
+    statistics.clear();
+    long start = System.nanoTime();
+    transactionTemplate.executeWithoutResult(status -> eventsRepository.saveAll(events));
+    long eventMillis = (System.nanoTime() - start) / 1_000_000;
+    long eventStatements = statistics.getPrepareStatementCount();
+
+    UUID eventId = events.get(0).getId();
+    List<Participates> participations = new ArrayList<>(ROWS);
+    users.forEach(
+        userId ->
+            participations.add(Participates.builder().userId(userId).eventId(eventId).build()));
+    statistics.clear();
+    start = System.nanoTime();
+    transactionTemplate.executeWithoutResult(
+        status -> participatesRepository.saveAll(participations));
+    long participationMillis = (System.nanoTime() - start) / 1_000_000;
+    long participationStatements = statistics.getPrepareStatementCount();
+
+    logger.info(
+        "{} rows: events {} ms / {} prepared statements, participations {} ms / {} prepared"
+            + " statements",
+        ROWS,
+        eventMillis,
+        eventStatements,
+        participationMillis,
+        participationStatements);
+    assertThat(participatesRepository.countParticipantsByEventId(eventId)).isEqualTo(ROWS);
+
+    eventsRepository.deleteAllInBatch(events);
+  }
+
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
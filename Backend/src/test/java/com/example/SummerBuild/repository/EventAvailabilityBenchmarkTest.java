@@ -0,0 +1,141 @@
+package com.example.SummerBuild.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.model.Events;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Pages of upcoming events with seats left on a large table where nearly every event is full,
+ * through idx_events_available and, for comparison, with the partial index dropped in a rolled back
+ * transaction. Logs both plans with their execution time, the end to end latency includes the round
+ * trip and Hibernate. Also checks that the planner picks the partial index.
+ *
+ * <p>Run with {@code mvn test -Dtest=EventAvailabilityBenchmarkTest -Dbenchmark=true}, and {@code
+ * -Dbenchmark.rows=N} for another table size.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventAvailabilityBenchmarkTest extends AbstractPostgresTest {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(EventAvailabilityBenchmarkTest.class);
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+  private static final int RUNS = 200;
+
+  // One event in this many has seats left, the others are sold out
+  private static final int AVAILABLE_EVERY = 1_000;
+
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void upcomingWithSeatsLeft() {
+    UUID hostId = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", hostId);
+    long start = System.nanoTime();
+    jdbcTemplate.update(
+        "INSERT INTO events (id, title, host_id, capacity, seats_taken, start_time, end_time)"
+            + " SELECT gen_random_uuid(), 'Event ' || g, ?, 100,"
+            + " CASE WHEN g % ? = 0 THEN 40 ELSE 100 END,"
+            + " now() + g * interval '1 minute', now() + g * interval '1 minute' + interval '2"
+            + " hours' FROM generate_series(1, ?) g",
+        hostId, AVAILABLE_EVERY, ROWS);
+    jdbcTemplate.execute("ANALYZE events");
+    logger.info("Inserted {} events in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+    try {
+      // Both runs in a rolled back transaction, so they differ only by the dropped index
+      TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+      List<String> indexedPlan = new ArrayList<>();
+      long indexedMicros =
+          transaction.execute(
+              status -> {
+                status.setRollbackOnly();
+                p50Micros();
+                indexedPlan.addAll(explainAnalyze());
+                return p50Micros();
+              });
+      List<String> unindexedPlan = new ArrayList<>();
+      long unindexedMicros =
+          transaction.execute(
+              status -> {
+                status.setRollbackOnly();
+                jdbcTemplate.execute("DROP INDEX idx_events_available");
+                unindexedPlan.addAll(explainAnalyze());
+                return p50Micros();
+              });
+
+      logger.info(
+          "{} rows, 1 in {} with seats left: first page p50 {} us through the partial index, {} us"
+              + " without it",
+          ROWS,
+          AVAILABLE_EVERY,
+          indexedMicros,
+          unindexedMicros);
+      logger.info(
+          "Plan with the partial index:\n{}\nPlan without it:\n{}",
+          String.join("\n", indexedPlan),
+          String.join("\n", unindexedPlan));
+      assertThat(indexedPlan).anyMatch(line -> line.contains("idx_events_available"));
+    } finally {
+      jdbcTemplate.update("DELETE FROM events WHERE host_id = ?", hostId);
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", hostId);
+    }
+  }
+
+  // The statement Hibernate generates for the first page below
+  private List<String> explainAnalyze() {
+    return jdbcTemplate.queryForList(
+        "EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM events WHERE start_time >= ?"
+            + " AND (capacity IS NULL OR seats_taken < capacity)"
+            + " ORDER BY start_time, id FETCH FIRST 20 ROWS ONLY",
+        String.class,
+        LocalDateTime.now());
+  }
+
+  // What EventsService#findUpcoming runs for a first page of available events
+  private long p50Micros() {
+    EventsFilter filter =
+        EventsFilter.builder().startFrom(LocalDateTime.now()).availableOnly(true).build();
+    long[] micros = new long[RUNS];
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      List<Events> page =
+          eventsRepository.findBy(
+              EventsSpecifications.matching(filter),
+              q -> q.sortBy(EventsSpecifications.KEYSET_SORT).limit(20).all());
+      micros[i] = (System.nanoTime() - start) / 1_000;
+      assertThat(page).hasSize(20).allMatch(event -> event.getSeatsTaken() < event.getCapacity());
+      entityManager.clear();
+    }
+    Arrays.sort(micros);
+    return micros[RUNS / 2];
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.SummerBuild.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.model.Events;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Relevance and latency of event search on a large table of generated events, with one planted
+ * event each query should rank first. Also checks that the planner uses the search indexes.
+ *
+ * <p>Run with {@code mvn test -Dtest=EventSearchBenchmarkTest -Dbenchmark=true}, and {@code
+ * -Dbenchmark.rows=N} for another table size.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventSearchBenchmarkTest extends AbstractPostgresTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventSearchBenchmarkTest.class);
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+  private static final int RUNS = 20;
+
+  // An exact title query, a description word and a phrase, then a typo for the fuzzy fallback
+  private static final List<String> QUERIES =
+      List.of("astronomy workshop", "telescopes", "\"night sky\"", "astronmy");
+
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void searchLargeTable() {
+    UUID hostId = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", hostId);
+    long start = System.nanoTime();
+    jdbcTemplate.update(
+        "INSERT INTO events (id, title, host_id, capacity, start_time, end_time, description)"
+            + " SELECT gen_random_uuid(),"
+            + " (ARRAY['Jazz', 'Python', 'Yoga', 'Chess', 'Poetry', 'Cycling', 'Startup',"
+            + " 'Photography'])[1 + g % 8] || ' ' || (ARRAY['Meetup', 'Night', 'Workshop',"
+            + " 'Club', 'Session'])[1 + g % 5] || ' #' || g, ?, 100, now(), now() + interval '2"
+            + " hours', 'Open to everyone, bring a friend. Edition ' || g"
+            + " FROM generate_series(1, ?) g",
+        hostId, ROWS);
+    UUID planted = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO events (id, title, host_id, capacity, start_time, end_time, description)"
+            + " VALUES (?, 'Astronomy Workshop', ?, 30, now(), now() + interval '2 hours',"
+            + " 'Bring your telescopes and learn the night sky')",
+        planted,
+        hostId);
+    jdbcTemplate.execute("ANALYZE events");
+    logger.info("Inserted {} events in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+    try {
+      for (String query : QUERIES) {
+        List<Events> page = search(query);
+        long[] micros = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+          start = System.nanoTime();
+          search(query);
+          micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        logger.info(
+            "{} rows, query [{}]: p50 {} us, p95 {} us, top hit {}",
+            ROWS,
+            query,
+            micros[RUNS / 2],
+            micros[RUNS * 95 / 100],
+            page.isEmpty() ? null : page.get(0).getTitle());
+        assertThat(page).isNotEmpty();
+        assertThat(page.get(0).getId()).isEqualTo(planted);
+      }
+
+      List<String> textPlan =
+          jdbcTemplate.queryForList(
+              "EXPLAIN SELECT e.id FROM events e, websearch_to_tsquery('english', ?) q"
+                  + " WHERE e.search_vector @@ q",
+              String.class,
+              "astronomy");
+      List<String> fuzzyPlan =
+          jdbcTemplate.queryForList(
+              "EXPLAIN SELECT e.id FROM events e WHERE ? <% e.title", String.class, "astronmy");
+      logger.info("Plans:\n{}\n{}", String.join("\n", textPlan), String.join("\n", fuzzyPlan));
+      assertThat(textPlan).anyMatch(line -> line.contains("idx_events_search"));
+      assertThat(fuzzyPlan).anyMatch(line -> line.contains("idx_events_title_trgm"));
+    } finally {
+      jdbcTemplate.update("DELETE FROM events WHERE host_id = ?", hostId);
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", hostId);
+    }
+  }
+
+  // What EventsService#search runs for a first page
+  private List<Events> search(String query) {
+    List<Events> hits = eventsRepository.search(query, PageRequest.of(0, 20)).getContent();
+    return hits.isEmpty()
+        ? eventsRepository.searchSimilarTitles(query, PageRequest.of(0, 20)).getContent()
+        : hits;
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.SummerBuild.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.model.Events;
+import java.sql.Array;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares tag search through idx_events_tag with what the frontend does today: load every event
+ * and keep the ones carrying the tag. Also checks that the planner picks the GIN index.
+ *
+ * <p>Run with {@code mvn test -Dtest=EventTagSearchBenchmarkTest -Dbenchmark=true}, and {@code
+ * -Dbenchmark.rows=N} for another table size.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventTagSearchBenchmarkTest extends AbstractPostgresTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventTagSearchBenchmarkTest.class);
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+
+  // Every event gets one of 10 categories and one of 5000 topics, the search asks for two topics
+  private static final List<String> SEARCHED = List.of("topic-17", "topic-4242");
+
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void searchByTag() {
+    UUID hostId = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", hostId);
+    long start = System.nanoTime();
+    jdbcTemplate.update(
+        "INSERT INTO events (id, title, host_id, capacity, start_time, end_time, tag)"
+            + " SELECT gen_random_uuid(), 'Event ' || g, ?, 100,"
+            + " now() + g * interval '1 minute', now() + g * interval '1 minute' + interval '2"
+            + " hours', ARRAY['category-' || g % 10, 'topic-' || g % 5000]"
+            + " FROM generate_series(1, ?) g",
+        hostId, ROWS);
+    jdbcTemplate.execute("ANALYZE events");
+    logger.info("Inserted {} events in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+    try {
+      // Today's pattern, minus the JSON: read every row and filter in memory
+      start = System.nanoTime();
+      AtomicInteger scanned = new AtomicInteger();
+      jdbcTemplate.setFetchSize(10_000);
+      jdbcTemplate.query(
+          "SELECT id, tag FROM events",
+          row -> {
+            Array tag = row.getArray("tag");
+            if (tag != null
+                && Arrays.stream((String[]) tag.getArray())
+                    .anyMatch(Set.copyOf(SEARCHED)::contains)) {
+              scanned.incrementAndGet();
+            }
+          });
+      long scanMillis = (System.nanoTime() - start) / 1_000_000;
+
+      EventsFilter filter = EventsFilter.builder().tagsAny(SEARCHED).build();
+      start = System.nanoTime();
+      long indexed = eventsRepository.count(EventsSpecifications.matching(filter));
+      List<Events> firstPage =
+          eventsRepository.findBy(
+              EventsSpecifications.matching(filter),
+              q -> q.sortBy(EventsSpecifications.KEYSET_SORT).limit(20).all());
+      long indexedMillis = (System.nanoTime() - start) / 1_000_000;
+
+      List<String> plan =
+          jdbcTemplate.queryForList(
+              "EXPLAIN SELECT * FROM events WHERE tag && CAST(? AS text[])"
+                  + " ORDER BY start_time, id LIMIT 20",
+              String.class,
+              "{" + String.join(",", SEARCHED) + "}");
+
+      logger.info(
+          "{} rows: full scan and filter {} ms, indexed count and first page {} ms, {} matches",
+          ROWS,
+          scanMillis,
+          indexedMillis,
+          indexed);
+      logger.info("Plan:\n{}", String.join("\n", plan));
+      assertThat(indexed).isEqualTo(scanned.get());
+      assertThat(firstPage).hasSize(20);
+      assertThat(plan).anyMatch(line -> line.contains("idx_events_tag"));
+    } finally {
+      jdbcTemplate.update("DELETE FROM events WHERE host_id = ?", hostId);
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", hostId);
+    }
+  }
+}
@@ -0,0 +1,303 @@
+package com.example.SummerBuild.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.mapper.EventsMapper;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventsRepositoryPostgresTest extends AbstractPostgresTest {
+
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private UUID hostId1, hostId2;
+  private LocalDateTime baseTime;
+  private Set<UUID> host1EventIds;
+
+  @BeforeEach
+  void setUp() {
+    eventsRepository.deleteAll();
+    hostId1 = saveHost();
+    hostId2 = saveHost();
+    baseTime = LocalDateTime.now().plusDays(1).withNano(0);
+
+    List<Events> events = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      events.add(event("Host1 Event " + i, hostId1, baseTime.plusHours(i)));
+    }
+    // Two events sharing a start time exercise the id tie-breaker
+    events.add(event("Host2 Event A", hostId2, baseTime.plusHours(2)));
+    events.add(event("Host2 Event B", hostId2, baseTime.plusHours(2)));
+    eventsRepository.saveAll(events);
+    host1EventIds =
+        events.stream()
+            .filter(e -> e.getHostId().equals(hostId1))
+            .map(Events::getId)
+            .collect(Collectors.toSet());
+  }
+
+  @Test
+  @DisplayName("keyset pages - walk all rows once in (start_time, id) order")
+  void keysetPages_walkAllRowsInOrder() {
+    List<Events> expected =
+        eventsRepository.findAll(EventsSpecifications.KEYSET_SORT).stream().toList();
+
+    List<Events> walked = new ArrayList<>();
+    KeysetCursor cursor = null;
+    do {
+      Specification<Events> spec = EventsSpecifications.matching(null);
+      if (cursor != null) {
+        spec = spec.and(EventsSpecifications.after(cursor));
+      }
+      List<Events> page =
+          eventsRepository.findBy(
+              spec, q -> q.sortBy(EventsSpecifications.KEYSET_SORT).limit(3).all());
+      walked.addAll(page);
+      Events last = page.isEmpty() ? null : page.get(page.size() - 1);
+      cursor = page.size() < 3 ? null : new KeysetCursor(last.getStartTime(), last.getId());
+    } while (cursor != null);
+
+    assertThat(walked)
+        .extracting(Events::getId)
+        .containsExactlyElementsOf(expected.stream().map(Events::getId).toList());
+  }
+
+  @Test
+  @DisplayName("matching - host and start window filters are applied in the query")
+  void matching_hostAndWindow_filtersRows() {
+    EventsFilter filter =
+        EventsFilter.builder()
+            .hostUuid(hostId1)
+            .startFrom(baseTime.plusHours(1))
+            .startTo(baseTime.plusHours(3))
+            .build();
+
+    List<Events> result =
+        eventsRepository.findBy(
+            EventsSpecifications.matching(filter),
+            q -> q.sortBy(EventsSpecifications.KEYSET_SORT).all());
+
+    assertThat(result)
+        .extracting(Events::getTitle)
+        .containsExactly("Host1 Event 1", "Host1 Event 2");
+  }
+
+  @Test
+  @DisplayName("matching - end bound with start bound selects events overlapping a window")
+  void matching_endAfter_selectsOverlappingEvents() {
+    // Event 0 ends exactly when the window opens, Event 3 starts exactly when it closes
+    EventsFilter filter =
+        EventsFilter.builder()
+            .hostUuid(hostId1)
+            .endAfter(baseTime.plusHours(1))
+            .startTo(baseTime.plusHours(3))
+            .build();
+
+    List<Events> result =
+        eventsRepository.findBy(
+            EventsSpecifications.matching(filter),
+            q -> q.sortBy(EventsSpecifications.KEYSET_SORT).all());
+
+    assertThat(result)
+        .extracting(Events::getTitle)
+        .containsExactly("Host1 Event 1", "Host1 Event 2");
+  }
+
+  @Test
+  @DisplayName("matching - any-of and all-of tag filters use overlap and containment")
+  void matching_tags_filtersRows() {
+    Events music = event("Music", hostId2, baseTime.plusHours(6));
+    music.setTags(new String[] {"music", "outdoor"});
+    Events sports = event("Sports", hostId2, baseTime.plusHours(7));
+    sports.setTags(new String[] {"sports", "outdoor"});
+    Events untagged = event("Untagged", hostId2, baseTime.plusHours(8));
+    untagged.setTags(null);
+    eventsRepository.saveAll(List.of(music, sports, untagged));
+
+    List<Events> anyOf =
+        eventsRepository.findBy(
+            EventsSpecifications.matching(
+                EventsFilter.builder().tagsAny(List.of("music", "sports")).build()),
+            q -> q.sortBy(EventsSpecifications.KEYSET_SORT).all());
+    List<Events> allOf =
+        eventsRepository.findBy(
+            EventsSpecifications.matching(
+                EventsFilter.builder().tagsAll(List.of("outdoor", "music")).build()),
+            q -> q.sortBy(EventsSpecifications.KEYSET_SORT).all());
+
+    assertThat(anyOf).extracting(Events::getTitle).containsExactly("Music", "Sports");
+    assertThat(allOf).extracting(Events::getTitle).containsExactly("Music");
+  }
+
+  @Test
+  @DisplayName("matching - available only leaves out full events")
+  void matching_availableOnly_skipsFullEvents() {
+    Events full = event("Full", hostId2, baseTime.plusHours(6));
+    full.setCapacity(1);
+    Events unlimited = event("Unlimited", hostId2, baseTime.plusHours(7));
+    unlimited.setCapacity(null);
+    eventsRepository.saveAll(List.of(full, unlimited));
+    eventsRepository.reserveSeat(full.getId());
+    entityManager.clear();
+
+    List<Events> result =
+        eventsRepository.findBy(
+            EventsSpecifications.matching(
+                EventsFilter.builder()
+                    .hostUuid(hostId2)
+                    .startFrom(baseTime.plusHours(3))
+                    .availableOnly(true)
+                    .build()),
+            q -> q.sortBy(EventsSpecifications.KEYSET_SORT).all());
+
+    assertThat(result).extracting(Events::getTitle).containsExactly("Unlimited");
+  }
+
+  @Test
+  @DisplayName("matching - participant lists registered events in one statement at any count")
+  void matching_participant_loadsEventsInOneStatement() {
+    UUID userId = saveHost();
+    UUID otherUserId = saveHost();
+    List<Events> ordered =
+        eventsRepository.findBy(
+            EventsSpecifications.matching(EventsFilter.builder().hostUuid(hostId1).build()),
+            q -> q.sortBy(EventsSpecifications.KEYSET_SORT).all());
+    register(otherUserId, ordered.get(0).getId());
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    EventsMapper eventsMapper = new EventsMapper();
+
+    for (int registered = 1; registered <= ordered.size(); registered++) {
+      register(userId, ordered.get(ordered.size() - registered).getId());
+      entityManager.clear();
+      statistics.clear();
+
+      List<EventsDto> page =
+          eventsRepository
+              .findBy(
+                  EventsSpecifications.matching(
+                      EventsFilter.builder().participantUuid(userId).build()),
+                  q -> q.sortBy(EventsSpecifications.KEYSET_SORT).limit(3).all())
+              .stream()
+              .map(eventsMapper::toDto)
+              .toList();
+
+      assertThat(page)
+          .extracting(EventsDto::getId)
+          .containsExactlyElementsOf(
+              ordered.subList(ordered.size() - registered, ordered.size()).stream()
+                  .limit(3)
+                  .map(Events::getId)
+                  .toList());
+      assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("search - ranks title matches first, fuzzy title search tolerates typos")
+  void search_ranksAndToleratesTypos() {
+    Events jazz = event("Jazz Night", hostId2, baseTime.plusHours(6));
+    jazz.setDescription("Live music downtown");
+    Events food = event("Downtown Food Tour", hostId2, baseTime.plusHours(7));
+    food.setDescription("Tasting menu, then jazz afterwards");
+    Events photo = event("Photography Walk", hostId2, baseTime.plusHours(8));
+    eventsRepository.saveAll(List.of(jazz, food, photo));
+    entityManager.flush();
+
+    assertThat(eventsRepository.search("jazz", PageRequest.of(0, 10)).getContent())
+        .extracting(Events::getTitle)
+        .containsExactly("Jazz Night", "Downtown Food Tour");
+    assertThat(eventsRepository.search("jazz", PageRequest.of(0, 1)).hasNext()).isTrue();
+    assertThat(eventsRepository.existsByText("photograpy")).isFalse();
+    assertThat(eventsRepository.searchSimilarTitles("photograpy", PageRequest.of(0, 10)))
+        .extracting(Events::getTitle)
+        .containsExactly("Photography Walk");
+  }
+
+  @Test
+  @DisplayName("findByHostId - loads only the host's rows, one ordered page at a time")
+  void findByHostId_loadsOnlyHostRows() {
+    entityManager.flush();
+    entityManager.clear();
+    Session session = entityManager.unwrap(Session.class);
+
+    Slice<Events> firstPage =
+        eventsRepository.findByHostId(
+            hostId1, PageRequest.of(0, 3, EventsSpecifications.KEYSET_SORT));
+
+    assertThat(firstPage.getContent())
+        .extracting(Events::getTitle)
+        .containsExactly("Host1 Event 0", "Host1 Event 1", "Host1 Event 2");
+    assertThat(firstPage.hasNext()).isTrue();
+    // Only host 1 rows were hydrated: the page plus the slice's one-row look-ahead
+    List<Object> loadedIds =
+        session.getStatistics().getEntityKeys().stream()
+            .map(key -> ((EntityKey) key).getIdentifier())
+            .toList();
+    assertThat(loadedIds).hasSize(4).allMatch(id -> host1EventIds.contains(id));
+
+    Slice<Events> secondPage = eventsRepository.findByHostId(hostId1, firstPage.nextPageable());
+    assertThat(secondPage.getContent())
+        .extracting(Events::getHostId)
+        .containsOnly(hostId1)
+        .hasSize(2);
+    assertThat(secondPage.hasNext()).isFalse();
+  }
+
+  // User ids are assigned by Supabase, so hosts are inserted directly
+  private UUID saveHost() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+
+  private void register(UUID userId, UUID eventId) {
+    jdbcTemplate.update(
+        "INSERT INTO participates (id, user_id, event_id, created_at, updated_at)"
+            + " VALUES (?, ?, ?, now(), now())",
+        UUID.randomUUID(),
+        userId,
+        eventId);
+  }
+
+  private Events event(String title, UUID hostId, LocalDateTime startTime) {
+    return Events.builder()
+        .title(title)
+        .hostId(hostId)
+        .capacity(10)
+        .startTime(startTime)
+        .endTime(startTime.plusHours(1))
+        .tags(new String[] {"test"})
+        .build();
+  }
+}
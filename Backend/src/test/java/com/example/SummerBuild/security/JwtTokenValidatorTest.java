@@ -0,0 +1,93 @@
+package com.example.SummerBuild.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwtTokenValidatorTest {
+
+  private static final String SECRET =
+      "c3VwZXItc2VjcmV0LWp3dC10b2tlbi13aXQtbGVhc3QtMzItY2hhcmFjdGVycy1sb25n";
+
+  private Key key;
+  private SimpleMeterRegistry meterRegistry;
+  private JwtTokenValidator validator;
+
+  @BeforeEach
+  void setUp() {
+    key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+    meterRegistry = new SimpleMeterRegistry();
+    validator = new JwtTokenValidator(SECRET, 100, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("validateToken - valid token returns its claims")
+  void validateToken_validToken_returnsClaims() {
+    String token = token("user-1", new Date(System.currentTimeMillis() + 60_000), key);
+
+    Claims claims = validator.validateToken(token);
+
+    assertThat(claims).isNotNull();
+    assertThat(claims.getSubject()).isEqualTo("user-1");
+  }
+
+  @Test
+  @DisplayName("validateToken - replayed token is served from the cache")
+  void validateToken_replayedToken_hitsCache() {
+    String token = token("user-1", new Date(System.currentTimeMillis() + 60_000), key);
+
+    Claims first = validator.validateToken(token);
+    Claims second = validator.validateToken(token);
+
+    assertThat(second).isSameAs(first);
+    assertThat(cacheGets("hit")).isEqualTo(1);
+    assertThat(cacheGets("miss")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("validateToken - expired token is rejected")
+  void validateToken_expiredToken_returnsNull() {
+    String token = token("user-1", new Date(System.currentTimeMillis() - 1_000), key);
+
+    assertThat(validator.validateToken(token)).isNull();
+  }
+
+  @Test
+  @DisplayName("validateToken - token signed with another key is rejected and not cached")
+  void validateToken_wrongSignature_isNotCached() {
+    Key otherKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    String token = token("user-1", new Date(System.currentTimeMillis() + 60_000), otherKey);
+
+    assertThat(validator.validateToken(token)).isNull();
+    assertThat(validator.validateToken(token)).isNull();
+    assertThat(cacheGets("hit")).isZero();
+  }
+
+  private String token(String subject, Date expiration, Key signingKey) {
+    return Jwts.builder()
+        .setSubject(subject)
+        .setIssuedAt(new Date())
+        .setExpiration(expiration)
+        .signWith(signingKey)
+        .compact();
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "jwt.claims")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.dto.ParticipatesDto;
+import com.example.SummerBuild.mapper.ParticipatesMapper;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.repository.EventsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares bulk registration with the one-at-a-time path it is meant to replace for imports: wall
+ * time and JDBC statements for the same attendee list.
+ *
+ * <p>Run with {@code mvn test -Dtest=BulkParticipationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  BulkParticipationService.class,
+  ParticipatesService.class,
+  ParticipatesMapper.class,
+  OutboxService.class,
+  EntityCacheEvictor.class,
+  EventDetailsCache.class,
+  SimpleMeterRegistry.class,
+  JacksonAutoConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkParticipationBenchmarkTest extends AbstractPostgresTest {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(BulkParticipationBenchmarkTest.class);
+
+  private static final int ATTENDEES = 2_000;
+
+  @Autowired private BulkParticipationService bulkParticipationService;
+  @Autowired private ParticipatesService participatesService;
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void compareWithOneAtATime() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    UUID hostId = saveUser();
+    UUID singleEvent = saveEvent(hostId);
+    UUID bulkEvent = saveEvent(hostId);
+    List<UUID> users = new ArrayList<>(ATTENDEES);
+    for (int i = 0; i < ATTENDEES; i++) {
+      users.add(saveUser());
+    }
+
+    statistics.clear();
+    long start = System.nanoTime();
+    users.forEach(userId -> participatesService.addParticipation(userId, singleEvent));
+    long singleMillis = (System.nanoTime() - start) / 1_000_000;
+    long singleStatements = statistics.getPrepareStatementCount();
+
+    List<ParticipatesDto> requests =
+        users.stream()
+            .map(userId -> ParticipatesDto.builder().userId(userId).eventId(bulkEvent).build())
+            .toList();
+    statistics.clear();
+    start = System.nanoTime();
+    bulkParticipationService.registerAll(requests);
+    long bulkMillis = (System.nanoTime() - start) / 1_000_000;
+    long bulkStatements = statistics.getPrepareStatementCount();
+
+    logger.info(
+        "{} registrations: one at a time {} ms / {} statements, bulk {} ms / {} statements",
+        ATTENDEES,
+        singleMillis,
+        singleStatements,
+        bulkMillis,
+        bulkStatements);
+    assertThat(eventsRepository.findSeatsTakenById(bulkEvent)).contains(ATTENDEES);
+    assertThat(bulkStatements).isLessThan(singleStatements);
+
+    eventsRepository.deleteById(singleEvent);
+    eventsRepository.deleteById(bulkEvent);
+  }
+
+  private UUID saveEvent(UUID hostId) {
+    return eventsRepository
+        .save(
+            Events.builder()
+                .title("Attendee Import")
+                .hostId(hostId)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .build())
+        .getId();
+  }
+
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
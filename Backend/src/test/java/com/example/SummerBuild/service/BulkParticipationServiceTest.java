@@ -0,0 +1,232 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.dto.BulkParticipationResultDto;
+import com.example.SummerBuild.dto.BulkParticipationResultDto.Status;
+import com.example.SummerBuild.dto.ParticipatesDto;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.OutboxRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Applies bulk registrations against Postgres, with chunks small enough to span several. */
+@DataJpaTest(properties = {"participates.bulk.chunk-size=2", "participates.bulk.max-items=10"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  BulkParticipationService.class,
+  OutboxService.class,
+  EntityCacheEvictor.class,
+  EventDetailsCache.class,
+  SimpleMeterRegistry.class,
+  JacksonAutoConfiguration.class
+})
+// Chunks commit in their own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkParticipationServiceTest extends AbstractPostgresTest {
+
+  @Autowired private BulkParticipationService bulkParticipationService;
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private ParticipatesRepository participatesRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private OutboxRepository outboxRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UUID hostId;
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    hostId = saveUser();
+    eventId = saveEvent(3);
+  }
+
+  @AfterEach
+  void tearDown() {
+    eventsRepository.deleteById(eventId);
+  }
+
+  @Test
+  @DisplayName("registerAll - fills the event in request order and reports every pair")
+  void registerAll_mixedRequests_reportsOutcomes() {
+    UUID first = saveUser();
+    UUID second = saveUser();
+    UUID third = saveUser();
+    UUID late = saveUser();
+    UUID unknown = UUID.randomUUID();
+    List<ParticipatesDto> requests =
+        List.of(
+            pair(first, eventId),
+            pair(unknown, eventId),
+            pair(first, eventId),
+            pair(second, eventId),
+            pair(third, eventId),
+            pair(late, eventId),
+            pair(first, UUID.randomUUID()));
+
+    long outboxBefore = outboxRepository.count();
+
+    List<BulkParticipationResultDto> results = bulkParticipationService.registerAll(requests);
+
+    assertThat(results)
+        .extracting(BulkParticipationResultDto::getStatus)
+        .containsExactly(
+            Status.REGISTERED,
+            Status.USER_NOT_FOUND,
+            Status.REGISTERED,
+            Status.REGISTERED,
+            Status.REGISTERED,
+            Status.EVENT_FULL,
+            Status.EVENT_NOT_FOUND);
+    assertThat(results.get(0).getParticipationId())
+        .isEqualTo(participatesRepository.findByUserIdAndEventId(first, eventId).get().getId());
+    assertThat(participatesRepository.findByEventId(eventId)).hasSize(3);
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(3);
+    assertThat(userRepository.findEventsJoinedById(first)).contains(1);
+    assertThat(userRepository.findEventsJoinedById(late)).contains(0);
+    assertThat(outboxRepository.count()).isEqualTo(outboxBefore + 3);
+  }
+
+  @Test
+  @DisplayName("registerAll - a failing chunk is reported as FAILED, the other chunks stay applied")
+  void registerAll_failingChunk_reportedAsFailed() {
+    List<UUID> users = List.of(saveUser(), saveUser(), saveUser(), saveUser(), saveUser());
+    UUID otherEventId = saveEvent(10);
+    // Chunks of two: the insert of the fourth user fails, and with it the second chunk
+    jdbcTemplate.execute(
+        "CREATE FUNCTION fail_bulk_insert() RETURNS trigger AS $$ BEGIN"
+            + " IF NEW.user_id = '"
+            + users.get(3)
+            + "' THEN RAISE EXCEPTION 'Insert failed'; END IF; RETURN NEW; END $$ LANGUAGE plpgsql");
+    jdbcTemplate.execute(
+        "CREATE TRIGGER fail_bulk_insert BEFORE INSERT ON participates"
+            + " FOR EACH ROW EXECUTE FUNCTION fail_bulk_insert()");
+    try {
+      List<BulkParticipationResultDto> results =
+          bulkParticipationService.registerAll(
+              users.stream().map(userId -> pair(userId, otherEventId)).toList());
+
+      assertThat(results)
+          .extracting(BulkParticipationResultDto::getStatus)
+          .containsExactly(
+              Status.REGISTERED,
+              Status.REGISTERED,
+              Status.FAILED,
+              Status.FAILED,
+              Status.REGISTERED);
+      assertThat(participatesRepository.findByEventId(otherEventId)).hasSize(3);
+      assertThat(eventsRepository.findSeatsTakenById(otherEventId)).contains(3);
+      assertThat(userRepository.findEventsJoinedById(users.get(2))).contains(0);
+    } finally {
+      jdbcTemplate.execute("DROP TRIGGER fail_bulk_insert ON participates");
+      jdbcTemplate.execute("DROP FUNCTION fail_bulk_insert()");
+      eventsRepository.deleteById(otherEventId);
+    }
+  }
+
+  @Test
+  @DisplayName("registerAll - users already registered are reported and not counted twice")
+  void registerAll_alreadyParticipating_isSkipped() {
+    UUID userId = saveUser();
+    bulkParticipationService.registerAll(List.of(pair(userId, eventId)));
+
+    List<BulkParticipationResultDto> results =
+        bulkParticipationService.registerAll(List.of(pair(userId, eventId)));
+
+    assertThat(results.get(0).getStatus()).isEqualTo(Status.ALREADY_PARTICIPATING);
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(1);
+    assertThat(userRepository.findEventsJoinedById(userId)).contains(1);
+  }
+
+  @Test
+  @DisplayName("unregisterAll - removes participations and gives their seats back")
+  void unregisterAll_removesParticipations() {
+    UUID first = saveUser();
+    UUID second = saveUser();
+    UUID third = saveUser();
+    bulkParticipationService.registerAll(
+        List.of(pair(first, eventId), pair(second, eventId), pair(third, eventId)));
+
+    List<BulkParticipationResultDto> results =
+        bulkParticipationService.unregisterAll(
+            List.of(
+                pair(first, eventId),
+                pair(saveUser(), eventId),
+                pair(third, eventId),
+                pair(first, UUID.randomUUID())));
+
+    assertThat(results)
+        .extracting(BulkParticipationResultDto::getStatus)
+        .containsExactly(
+            Status.UNREGISTERED,
+            Status.NOT_PARTICIPATING,
+            Status.UNREGISTERED,
+            Status.EVENT_NOT_FOUND);
+    assertThat(participatesRepository.findByEventId(eventId))
+        .extracting(participation -> participation.getUserId())
+        .containsExactly(second);
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(1);
+    assertThat(userRepository.findEventsJoinedById(first)).contains(0);
+    assertThat(userRepository.findEventsJoinedById(second)).contains(1);
+  }
+
+  @Test
+  @DisplayName("registerAll - rejects requests over the size limit or with missing ids")
+  void registerAll_invalidRequest_throws() {
+    List<ParticipatesDto> tooMany = new ArrayList<>();
+    for (int i = 0; i < 11; i++) {
+      tooMany.add(pair(UUID.randomUUID(), eventId));
+    }
+
+    assertThatThrownBy(() -> bulkParticipationService.registerAll(tooMany))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> bulkParticipationService.registerAll(List.of(pair(null, eventId))))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(0);
+  }
+
+  private static ParticipatesDto pair(UUID userId, UUID eventId) {
+    return ParticipatesDto.builder().userId(userId).eventId(eventId).build();
+  }
+
+  private UUID saveEvent(int capacity) {
+    return eventsRepository
+        .save(
+            Events.builder()
+                .title("Attendee Import")
+                .hostId(hostId)
+                .capacity(capacity)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .build())
+        .getId();
+  }
+
+  // User ids are assigned by Supabase, so users are inserted directly
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
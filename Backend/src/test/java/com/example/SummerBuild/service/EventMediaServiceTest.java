@@ -0,0 +1,157 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.SummerBuild.dto.FileUploadResult;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.MediaStatus;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.util.FileLoaderService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+class EventMediaServiceTest {
+
+  @Mock private FileLoaderService fileLoaderService;
+  @Mock private EventsRepository eventsRepository;
+  @Mock private EntityCacheEvictor entityCacheEvictor;
+  @Mock private EventDetailsCache eventDetailsCache;
+
+  @TempDir Path spoolRoot;
+
+  private UUID eventId;
+  private UUID hostId;
+  private List<MultipartFile> files;
+
+  @BeforeEach
+  void setUp() {
+    eventId = UUID.randomUUID();
+    hostId = UUID.randomUUID();
+    files =
+        List.of(
+            new MockMultipartFile(
+                "files", "cover.png", "image/png", "cover".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("submit - spooled files are uploaded, then the event is marked READY")
+  void submit_uploadSucceeds_marksReady() throws IOException {
+    when(fileLoaderService.uploadFiles(anyList(), eq(eventId), eq(hostId)))
+        .thenAnswer(
+            invocation -> {
+              List<MultipartFile> spooled = invocation.getArgument(0);
+              // The worker reads the copy on disk, not the request's part
+              assertThat(new String(spooled.get(0).getBytes(), StandardCharsets.UTF_8))
+                  .isEqualTo("cover");
+              assertThat(spooled.get(0).getOriginalFilename()).isEqualTo("cover.png");
+              return List.of(FileUploadResult.uploaded("cover.png"));
+            });
+
+    MediaStatus status = service(new SyncTaskExecutor()).submit(eventId, hostId, files);
+
+    assertThat(status).isEqualTo(MediaStatus.PENDING);
+    var inOrder = inOrder(eventsRepository);
+    inOrder
+        .verify(eventsRepository)
+        .updateMediaStatus(eq(eventId), eq(MediaStatus.PENDING), any(LocalDateTime.class));
+    inOrder
+        .verify(eventsRepository)
+        .updateMediaStatus(eq(eventId), eq(MediaStatus.READY), any(LocalDateTime.class));
+    // The cached event must show each status change
+    verify(entityCacheEvictor, times(2)).evictAfterCommit(Events.class, eventId);
+    verify(eventDetailsCache, times(2)).invalidateAfterCommit(eventId);
+    assertThat(spoolContents()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("submit - a failed attempt is retried")
+  void submit_transientFailure_retries() throws IOException {
+    when(fileLoaderService.uploadFiles(anyList(), eq(eventId), eq(hostId)))
+        .thenReturn(List.of(FileUploadResult.failed("cover.png", "Upload failed: 503")))
+        .thenReturn(List.of(FileUploadResult.uploaded("cover.png")));
+
+    service(new SyncTaskExecutor()).submit(eventId, hostId, files);
+
+    verify(fileLoaderService, times(2)).uploadFiles(anyList(), eq(eventId), eq(hostId));
+    verify(eventsRepository)
+        .updateMediaStatus(eq(eventId), eq(MediaStatus.READY), any(LocalDateTime.class));
+    assertThat(spoolContents()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("submit - every attempt failing marks the event FAILED")
+  void submit_allAttemptsFail_marksFailed() throws IOException {
+    when(fileLoaderService.uploadFiles(anyList(), eq(eventId), eq(hostId)))
+        .thenReturn(List.of(FileUploadResult.failed("cover.png", "Upload failed: 503")));
+
+    service(new SyncTaskExecutor()).submit(eventId, hostId, files);
+
+    verify(fileLoaderService, times(3)).uploadFiles(anyList(), eq(eventId), eq(hostId));
+    verify(eventsRepository)
+        .updateMediaStatus(eq(eventId), eq(MediaStatus.FAILED), any(LocalDateTime.class));
+    assertThat(spoolContents()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("submit - full queue marks the event FAILED and drops the spool")
+  void submit_queueFull_marksFailed() throws IOException {
+    TaskExecutor rejecting =
+        task -> {
+          throw new TaskRejectedException("queue full");
+        };
+
+    MediaStatus status = service(rejecting).submit(eventId, hostId, files);
+
+    assertThat(status).isEqualTo(MediaStatus.FAILED);
+    verify(eventsRepository)
+        .updateMediaStatus(eq(eventId), eq(MediaStatus.FAILED), any(LocalDateTime.class));
+    verifyNoInteractions(fileLoaderService);
+    assertThat(spoolContents()).isEmpty();
+  }
+
+  private EventMediaService service(TaskExecutor executor) throws IOException {
+    return new EventMediaService(
+        fileLoaderService,
+        eventsRepository,
+        entityCacheEvictor,
+        eventDetailsCache,
+        executor,
+        spoolRoot,
+        3,
+        Duration.ZERO);
+  }
+
+  private List<Path> spoolContents() throws IOException {
+    try (Stream<Path> paths = Files.list(spoolRoot)) {
+      return paths.toList();
+    }
+  }
+}
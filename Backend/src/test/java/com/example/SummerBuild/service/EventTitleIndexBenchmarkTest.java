@@ -0,0 +1,129 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.SummerBuild.dto.EventTitleDto;
+import com.example.SummerBuild.repository.EventsRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory footprint, build time and lookup latency of {@link EventTitleIndex} over generated titles.
+ * The footprint is the heap retained after a full GC, so it is approximate.
+ *
+ * <p>Run with {@code mvn test -Dtest=EventTitleIndexBenchmarkTest -Dbenchmark=true}, and {@code
+ * -Dbenchmark.rows=N} for another number of events.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventTitleIndexBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventTitleIndexBenchmarkTest.class);
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+
+  private static final int LOOKUPS = 90_000;
+
+  private static final String[] WORDS = {
+    "jazz",
+    "python",
+    "yoga",
+    "chess",
+    "poetry",
+    "cycling",
+    "startup",
+    "photography",
+    "night",
+    "meetup",
+    "workshop",
+    "club",
+    "session",
+    "brunch",
+    "festival",
+    "market",
+    "hackathon",
+    "run",
+    "café",
+    "open",
+    "mic",
+    "board",
+    "games",
+    "film",
+    "quiz",
+    "salsa",
+    "pottery",
+    "climbing"
+  };
+
+  @Test
+  void footprintAndLatency() {
+    Random random = new Random(42);
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    List<EventTitleDto> titles = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      String title =
+          WORDS[random.nextInt(WORDS.length)]
+              + " "
+              + WORDS[random.nextInt(WORDS.length)]
+              + " "
+              + WORDS[random.nextInt(WORDS.length)]
+              + " #"
+              + i;
+      titles.add(new EventTitleDto(UUID.randomUUID(), title, start.plusMinutes(i)));
+    }
+    EventsRepository eventsRepository = mock(EventsRepository.class);
+    when(eventsRepository.findTitlesStartingFrom(any(LocalDateTime.class))).thenReturn(titles);
+
+    long heapBefore = usedHeap();
+    EventTitleIndex index = new EventTitleIndex(eventsRepository);
+    long buildStart = System.nanoTime();
+    index.rebuild();
+    long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+    // The titles are retained by the caller too, so this is the index's own share
+    long indexBytes = usedHeap() - heapBefore;
+
+    String[] prefixes = {"j", "ja", "jaz", "night", "ph", "photo", "board g", "café m", "zzz"};
+    for (String prefix : prefixes) {
+      long[] nanos = new long[LOOKUPS / prefixes.length];
+      for (int i = 0; i < nanos.length; i++) {
+        long lookupStart = System.nanoTime();
+        index.lookup(prefix, 10);
+        nanos[i] = System.nanoTime() - lookupStart;
+      }
+      Arrays.sort(nanos);
+      logger.info(
+          "prefix [{}]: p50 {} us, p99 {} us",
+          prefix,
+          nanos[nanos.length / 2] / 1_000.0,
+          nanos[nanos.length * 99 / 100] / 1_000.0);
+    }
+    logger.info(
+        "{} events: built in {} ms, about {} MB retained by the index ({} bytes per event)",
+        ROWS,
+        buildMillis,
+        indexBytes / (1024 * 1024),
+        indexBytes / ROWS);
+
+    assertThat(index.size()).isEqualTo(ROWS);
+    assertThat(index.lookup("night", 10)).hasSize(10);
+    assertThat(titles).isNotEmpty();
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.example.SummerBuild.dto.EventTitleDto;
+import com.example.SummerBuild.repository.EventsRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventTitleIndexTest {
+
+  @Mock private EventsRepository eventsRepository;
+
+  private EventTitleIndex index;
+  private LocalDateTime tomorrow;
+  private EventTitleDto jazzNight;
+  private EventTitleDto jazzBrunch;
+  private EventTitleDto cafe;
+
+  @BeforeEach
+  void setUp() {
+    index = new EventTitleIndex(eventsRepository);
+    tomorrow = LocalDateTime.now().plusDays(1);
+    jazzNight = title("Jazz Night", tomorrow.plusHours(2));
+    jazzBrunch = title("Sunday Jazz-Brunch", tomorrow.plusHours(1));
+    cafe = title("Café Meetup", tomorrow);
+    when(eventsRepository.findTitlesStartingFrom(any(LocalDateTime.class)))
+        .thenReturn(List.of(jazzNight, jazzBrunch, cafe));
+    index.rebuild();
+  }
+
+  @Test
+  @DisplayName("lookup - matches the start of any word, soonest event first")
+  void lookup_matchesWordPrefixes() {
+    assertThat(index.lookup("jaz", 10)).containsExactly(jazzBrunch, jazzNight);
+    assertThat(index.lookup("nig", 10)).containsExactly(jazzNight);
+    assertThat(index.lookup("jazz b", 10)).containsExactly(jazzBrunch);
+    assertThat(index.lookup("azz", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("lookup - ignores case, accents and punctuation")
+  void lookup_normalizesInput() {
+    assertThat(index.lookup("CAFE", 10)).containsExactly(cafe);
+    assertThat(index.lookup("jazz-br", 10)).containsExactly(jazzBrunch);
+    assertThat(index.lookup("  ", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("lookup - keeps the soonest events up to the limit")
+  void lookup_respectsLimit() {
+    assertThat(index.lookup("j", 1)).containsExactly(jazzBrunch);
+  }
+
+  @Test
+  @DisplayName("put and remove - replace and drop an event's entries")
+  void putAndRemove_updateIndex() {
+    EventTitleDto renamed = new EventTitleDto(jazzNight.getId(), "Blues Night", tomorrow);
+    index.putAfterCommit(renamed);
+    EventTitleDto added = title("Jazz Quartet", tomorrow.plusDays(1));
+    index.putAfterCommit(added);
+    index.removeAfterCommit(jazzBrunch.getId());
+
+    assertThat(index.lookup("jazz", 10)).containsExactly(added);
+    assertThat(index.lookup("night", 10)).containsExactly(renamed);
+    assertThat(index.size()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("put - an event that already started is not suggested")
+  void put_startedEvent_notSuggested() {
+    index.putAfterCommit(
+        new EventTitleDto(jazzNight.getId(), "Jazz Night", LocalDateTime.now().minusHours(1)));
+
+    assertThat(index.lookup("jazz", 10)).containsExactly(jazzBrunch);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  private static EventTitleDto title(String title, LocalDateTime startTime) {
+    return new EventTitleDto(UUID.randomUUID(), title, startTime);
+  }
+}
@@ -0,0 +1,219 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.mapper.EventsMapper;
+import com.example.SummerBuild.mapper.ParticipatesMapper;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.MediaStatus;
+import com.example.SummerBuild.model.User;
+import com.example.SummerBuild.repository.EventsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(
+    properties = {
+      "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+      "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+      "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+      "spring.jpa.properties.hibernate.javax.cache.provider="
+          + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+      "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+      "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  EventsService.class,
+  EventsMapper.class,
+  ParticipatesService.class,
+  ParticipatesMapper.class,
+  OutboxService.class,
+  EntityCacheEvictor.class,
+  EventDetailsCache.class,
+  EventTitleIndex.class,
+  SimpleMeterRegistry.class,
+  JacksonAutoConfiguration.class
+})
+// Cache entries are written and evicted on commit, so every call runs in its own transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventsServiceCacheTest extends AbstractPostgresTest {
+
+  @Autowired private EventsService eventsService;
+  @Autowired private ParticipatesService participatesService;
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Cache cache;
+  private Statistics statistics;
+  private UUID hostId;
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    cache = entityManagerFactory.getCache();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    hostId = saveUser();
+    eventId = saveEvent("Cached Event");
+    cache.evictAll();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (eventsRepository.existsById(eventId)) {
+      eventsRepository.deleteById(eventId);
+    }
+  }
+
+  @Test
+  @DisplayName("findById - repeated loads are served from the second-level cache")
+  void findById_repeated_hitsCache() {
+    eventsRepository.findById(eventId);
+    long statements = statistics.getPrepareStatementCount();
+
+    Events cached = eventsRepository.findById(eventId).orElseThrow();
+
+    assertThat(cached.getTitle()).isEqualTo("Cached Event");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("update - the next read sees the new values")
+  void update_cachedEvent_isRefreshed() {
+    eventsService.findById(eventId);
+
+    EventsDto changes = new EventsDto();
+    changes.setTitle("Renamed Event");
+    eventsService.update(eventId, changes);
+
+    assertThat(eventsService.findById(eventId).getTitle()).isEqualTo("Renamed Event");
+  }
+
+  @Test
+  @DisplayName("delete - the cached event is no longer served")
+  void delete_cachedEvent_isEvicted() {
+    eventsService.findById(eventId);
+    assertThat(cache.contains(Events.class, eventId)).isTrue();
+
+    eventsService.delete(eventId);
+    statistics.clear();
+
+    assertThatThrownBy(() -> eventsService.findById(eventId))
+        .isInstanceOf(EventsService.ResourceNotFoundException.class);
+    assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("delete - the participations and counters of its participants are not served stale")
+  void delete_withParticipants_evictsParticipations() {
+    UUID userId = saveUser();
+    participatesService.addParticipation(userId, eventId);
+    assertThat(participatesService.getUserParticipations(userId)).hasSize(1);
+    try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+      assertThat(entityManager.find(User.class, userId).getEventsJoined()).isEqualTo(1);
+    }
+
+    eventsService.delete(eventId);
+
+    assertThat(participatesService.getUserParticipations(userId)).isEmpty();
+    assertThat(participatesService.isUserParticipating(userId, eventId)).isFalse();
+    try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+      assertThat(entityManager.find(User.class, userId).getEventsJoined()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("addParticipation - evicts only the event and user whose counters changed")
+  void addParticipation_evictsChangedRowsOnly() {
+    UUID otherEventId = saveEvent("Untouched Event");
+    UUID userId = saveUser();
+    eventsService.findById(eventId);
+    eventsService.findById(otherEventId);
+    try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+      entityManager.find(User.class, userId);
+    }
+    assertThat(cache.contains(User.class, userId)).isTrue();
+
+    participatesService.addParticipation(userId, eventId);
+
+    assertThat(cache.contains(Events.class, eventId)).isFalse();
+    assertThat(cache.contains(User.class, userId)).isFalse();
+    assertThat(cache.contains(Events.class, otherEventId)).isTrue();
+    eventsRepository.deleteById(otherEventId);
+  }
+
+  @Test
+  @DisplayName("updateMediaStatus - leaves the other cached events in place")
+  void updateMediaStatus_keepsOtherEventsCached() {
+    UUID otherEventId = saveEvent("Untouched Event");
+    eventsService.findById(eventId);
+    eventsService.findById(otherEventId);
+
+    eventsRepository.updateMediaStatus(eventId, MediaStatus.PENDING, LocalDateTime.now());
+
+    assertThat(cache.contains(Events.class, otherEventId)).isTrue();
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT media_status FROM events WHERE id = ?", String.class, eventId))
+        .isEqualTo("PENDING");
+    eventsRepository.deleteById(otherEventId);
+  }
+
+  @Test
+  @DisplayName("getEventParticipants - cached result is invalidated by a new participant")
+  void getEventParticipants_newParticipant_invalidatesQueryCache() {
+    participatesService.addParticipation(saveUser(), eventId);
+    participatesService.getEventParticipants(eventId);
+    assertThat(participatesService.getEventParticipants(eventId)).hasSize(1);
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+    participatesService.addParticipation(saveUser(), eventId);
+
+    assertThat(participatesService.getEventParticipants(eventId)).hasSize(2);
+  }
+
+  private UUID saveEvent(String title) {
+    return eventsRepository
+        .save(
+            Events.builder()
+                .title(title)
+                .hostId(hostId)
+                .capacity(10)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .build())
+        .getId();
+  }
+
+  // User ids are assigned by Supabase, so users are inserted directly
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
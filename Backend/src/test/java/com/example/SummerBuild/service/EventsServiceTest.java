@@ -2,32 +2,68 @@ package com.example.SummerBuild.service;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.dto.EventTitleDto;
 import com.example.SummerBuild.dto.EventsDto;
+import com.example.SummerBuild.dto.EventsFilter;
+import com.example.SummerBuild.dto.EventsPageDto;
 import com.example.SummerBuild.mapper.EventsMapper;
+import com.example.SummerBuild.model.DomainEventType;
 import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.User;
 import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
 import com.example.SummerBuild.service.EventsService.InvalidDataException;
 import com.example.SummerBuild.service.EventsService.ResourceNotFoundException;
+import com.example.SummerBuild.util.ETags;
+import com.example.SummerBuild.util.KeysetCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
 class EventsServiceTest {
 
   @Mock private EventsRepository eventsRepository;
+  @Mock private ParticipatesRepository participatesRepository;
+  @Mock private UserRepository userRepository;
   @Mock private EventsMapper eventsMapper;
+  @Mock private EntityCacheEvictor entityCacheEvictor;
+  @Mock private OutboxService outboxService;
+  @Mock private EventTitleIndex eventTitleIndex;
+
+  @Spy
+  private EventDetailsCache eventDetailsCache =
+      new EventDetailsCache(
+          new ObjectMapper().findAndRegisterModules(),
+          new SimpleMeterRegistry(),
+          100,
+          Duration.ofMinutes(1));
 
   @InjectMocks private EventsService eventsService;
 
@@ -71,17 +107,136 @@ class EventsServiceTest {
   }
 
   @Test
-  @DisplayName("findAll - returns mapped events")
-  void findAll_returnsMappedEvents() {
-    when(eventsRepository.findAll()).thenReturn(Arrays.asList(testEvent));
+  @DisplayName("findPage - more rows than limit - returns page with next cursor")
+  @SuppressWarnings("unchecked")
+  void findPage_moreRows_returnsNextCursor() {
+    Events secondEvent = createTestEvent();
+    secondEvent.setId(UUID.randomUUID());
+    when(eventsRepository.findBy(any(Specification.class), any(Function.class)))
+        .thenReturn(Arrays.asList(testEvent, secondEvent));
     when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
 
-    List<EventsDto> result = eventsService.findAll();
+    EventsPageDto result = eventsService.findPage(EventsFilter.builder().build(), null, 1);
 
-    assertThat(result).hasSize(1);
-    assertThat(result.get(0)).isEqualTo(testEventDto);
-    verify(eventsRepository).findAll();
-    verify(eventsMapper).toDto(testEvent);
+    assertThat(result.getItems()).containsExactly(testEventDto);
+    assertThat(result.hasMore()).isTrue();
+    KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+    assertThat(next.getStartTime()).isEqualTo(testEvent.getStartTime());
+    assertThat(next.getId()).isEqualTo(testEventId);
+    verify(eventsMapper, never()).toDto(secondEvent);
+    verify(eventsRepository, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("findPage - last page - returns no next cursor")
+  @SuppressWarnings("unchecked")
+  void findPage_lastPage_returnsNoCursor() {
+    when(eventsRepository.findBy(any(Specification.class), any(Function.class)))
+        .thenReturn(Arrays.asList(testEvent));
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+
+    String cursor = new KeysetCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+    EventsPageDto result = eventsService.findPage(null, cursor, null);
+
+    assertThat(result.getItems()).containsExactly(testEventDto);
+    assertThat(result.hasMore()).isFalse();
+    assertThat(result.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("findPage - invalid cursor - throws exception")
+  void findPage_invalidCursor_throwsException() {
+    assertThatThrownBy(() -> eventsService.findPage(null, "not-a-cursor", 10))
+        .isInstanceOf(InvalidDataException.class)
+        .hasMessageContaining("Invalid cursor");
+
+    verifyNoInteractions(eventsRepository);
+  }
+
+  @Test
+  @DisplayName("findPage - non-positive limit - throws exception")
+  void findPage_nonPositiveLimit_throwsException() {
+    assertThatThrownBy(() -> eventsService.findPage(null, null, 0))
+        .isInstanceOf(InvalidDataException.class)
+        .hasMessageContaining("Limit must be a positive number");
+
+    verifyNoInteractions(eventsRepository);
+  }
+
+  @Test
+  @DisplayName("findActive - queries events that have started and not ended")
+  @SuppressWarnings("unchecked")
+  void findActive_returnsPage() {
+    when(eventsRepository.findBy(any(Specification.class), any(Function.class)))
+        .thenReturn(Arrays.asList(testEvent));
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+
+    EventsPageDto result = eventsService.findActive(null, null);
+
+    assertThat(result.getItems()).containsExactly(testEventDto);
+    assertThat(result.hasMore()).isFalse();
+  }
+
+  @Test
+  @DisplayName("findOverlapping - empty window - throws exception")
+  void findOverlapping_emptyWindow_throwsException() {
+    LocalDateTime from = LocalDateTime.now();
+
+    assertThatThrownBy(() -> eventsService.findOverlapping(from, from, null, null))
+        .isInstanceOf(InvalidDataException.class)
+        .hasMessageContaining("Window start must be before its end");
+
+    verifyNoInteractions(eventsRepository);
+  }
+
+  @Test
+  @DisplayName("search - maps the ranked slice and caps the page size")
+  void search_returnsMappedEvents() {
+    when(eventsRepository.search(eq("jazz"), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(testEvent)));
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+
+    List<EventsDto> result = eventsService.search("  jazz ", 0, 500);
+
+    assertThat(result).containsExactly(testEventDto);
+    ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+    verify(eventsRepository).search(eq("jazz"), pageable.capture());
+    assertThat(pageable.getValue().getPageSize()).isEqualTo(EventsService.MAX_PAGE_SIZE);
+  }
+
+  @Test
+  @DisplayName("search - no word matches - falls back to similar titles")
+  void search_noTextMatch_fallsBackToSimilarTitles() {
+    when(eventsRepository.search(eq("jaz"), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of()));
+    when(eventsRepository.searchSimilarTitles(eq("jaz"), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(testEvent)));
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+
+    List<EventsDto> result = eventsService.search("jaz", 0, 10);
+
+    assertThat(result).containsExactly(testEventDto);
+    verify(eventsRepository, never()).existsByText(any());
+  }
+
+  @Test
+  @DisplayName("search - blank query - throws exception")
+  void search_blankQuery_throwsException() {
+    assertThatThrownBy(() -> eventsService.search(" ", 0, 10))
+        .isInstanceOf(InvalidDataException.class)
+        .hasMessageContaining("Search query must not be blank");
+
+    verifyNoInteractions(eventsRepository);
+  }
+
+  @Test
+  @DisplayName("autocomplete - limit out of range - throws exception")
+  void autocomplete_limitOutOfRange_throwsException() {
+    assertThatThrownBy(() -> eventsService.autocomplete("ja", EventsService.MAX_SUGGESTIONS + 1))
+        .isInstanceOf(InvalidDataException.class)
+        .hasMessageContaining("Limit must be between 1 and");
+
+    verifyNoInteractions(eventTitleIndex);
   }
 
   @Test
@@ -89,6 +244,7 @@ class EventsServiceTest {
   void findById_found_returnsDto() {
     when(eventsRepository.findById(testEventId)).thenReturn(Optional.of(testEvent));
     when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+    when(eventsMapper.copy(testEventDto)).thenReturn(testEventDto);
 
     EventsDto result = eventsService.findById(testEventId);
 
@@ -97,6 +253,52 @@ class EventsServiceTest {
     verify(eventsMapper).toDto(testEvent);
   }
 
+  @Test
+  @DisplayName("findById - repeated reads - loads the event once")
+  void findById_repeated_servedFromCache() {
+    when(eventsRepository.findById(testEventId)).thenReturn(Optional.of(testEvent));
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+
+    eventsService.findById(testEventId);
+    eventsService.findById(testEventId);
+
+    verify(eventsRepository, times(1)).findById(testEventId);
+    // Every caller gets its own copy of the cached dto
+    verify(eventsMapper, times(2)).copy(testEventDto);
+  }
+
+  @Test
+  @DisplayName("findCachedById - serializes and tags the event once per cache entry")
+  void findCachedById_repeated_reusesJson() {
+    when(eventsRepository.findById(testEventId)).thenReturn(Optional.of(testEvent));
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+
+    EventDetailsCache.Entry first = eventsService.findCachedById(testEventId);
+    EventDetailsCache.Entry second = eventsService.findCachedById(testEventId);
+
+    assertThat(new String(first.json(), StandardCharsets.UTF_8))
+        .contains("\"title\":\"Test Event\"");
+    assertThat(first.etag()).isEqualTo(ETags.of(first.json()));
+    assertThat(second).isSameAs(first);
+    verify(eventsRepository, times(1)).findById(testEventId);
+  }
+
+  @Test
+  @DisplayName("update - cached event is reloaded on the next read")
+  void update_cachedEvent_isInvalidated() {
+    when(eventsRepository.findById(testEventId)).thenReturn(Optional.of(testEvent));
+    when(eventsRepository.save(testEvent)).thenReturn(testEvent);
+    when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
+    eventsService.findById(testEventId);
+
+    eventsService.update(testEventId, testEventDto);
+    eventsService.findById(testEventId);
+
+    verify(eventDetailsCache).invalidateAfterCommit(testEventId);
+    // Initial load, the update's own lookup, then the reload
+    verify(eventsRepository, times(3)).findById(testEventId);
+  }
+
   @Test
   @DisplayName("findById - not found - throws exception")
   void findById_notFound_throwsException() {
@@ -123,6 +325,12 @@ class EventsServiceTest {
     verify(eventsMapper).toEntity(testEventDto);
     verify(eventsRepository).save(testEvent);
     verify(eventsMapper).toDto(testEvent);
+    verify(outboxService)
+        .record(DomainEventType.EVENT_CREATED, DomainEventPayload.Event.from(testEventDto));
+    ArgumentCaptor<EventTitleDto> title = ArgumentCaptor.forClass(EventTitleDto.class);
+    verify(eventTitleIndex).putAfterCommit(title.capture());
+    assertThat(title.getValue().getId()).isEqualTo(testEventDto.getId());
+    assertThat(title.getValue().getTitle()).isEqualTo(testEventDto.getTitle());
   }
 
   @Test
@@ -198,61 +406,89 @@ class EventsServiceTest {
   @Test
   @DisplayName("delete - found - deletes event")
   void delete_found_deletesEvent() {
-    when(eventsRepository.existsById(testEventId)).thenReturn(true);
+    when(eventsRepository.lockById(testEventId)).thenReturn(Optional.of(testEventId));
+    when(participatesRepository.findUserIdsByEventId(testEventId)).thenReturn(List.of());
 
     eventsService.delete(testEventId);
 
-    verify(eventsRepository).existsById(testEventId);
     verify(eventsRepository).deleteById(testEventId);
+    verify(participatesRepository, never()).deleteAllByEventId(any());
+    verify(outboxService)
+        .record(DomainEventType.EVENT_DELETED, new DomainEventPayload.EventDeleted(testEventId));
+    verify(eventDetailsCache).invalidateAfterCommit(testEventId);
+    verify(eventTitleIndex).removeAfterCommit(testEventId);
+  }
+
+  @Test
+  @DisplayName("delete - with participants - deletes participations and updates their counters")
+  void delete_withParticipants_updatesParticipants() {
+    List<UUID> participants = List.of(UUID.randomUUID(), UUID.randomUUID());
+    when(eventsRepository.lockById(testEventId)).thenReturn(Optional.of(testEventId));
+    when(participatesRepository.findUserIdsByEventId(testEventId)).thenReturn(participants);
+
+    eventsService.delete(testEventId);
+
+    InOrder inOrder = inOrder(participatesRepository, userRepository, eventsRepository);
+    inOrder.verify(participatesRepository).deleteAllByEventId(testEventId);
+    inOrder.verify(userRepository).decrementEventsJoined(participants);
+    inOrder.verify(eventsRepository).deleteById(testEventId);
+    verify(entityCacheEvictor).evictAfterCommit(User.class, participants);
   }
 
   @Test
   @DisplayName("delete - not found - throws exception")
   void delete_notFound_throwsException() {
-    when(eventsRepository.existsById(testEventId)).thenReturn(false);
+    when(eventsRepository.lockById(testEventId)).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> eventsService.delete(testEventId))
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining("Event not found with id: " + testEventId);
 
-    verify(eventsRepository).existsById(testEventId);
     verify(eventsRepository, never()).deleteById(any());
+    verifyNoInteractions(outboxService);
   }
 
   @Test
-  @DisplayName("findByHostUuid - returns filtered events")
-  void findByHostUuid_returnsFilteredEvents() {
-    Events anotherEvent = createTestEvent();
-    anotherEvent.setId(UUID.randomUUID());
-    anotherEvent.setHostId(UUID.randomUUID()); // Different host
-
-    when(eventsRepository.findAll()).thenReturn(Arrays.asList(testEvent, anotherEvent));
+  @DisplayName("findByHostUuid - queries host page - returns mapped events")
+  void findByHostUuid_queriesHostPage_returnsMappedEvents() {
+    when(eventsRepository.findByHostId(eq(testHostId), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(Arrays.asList(testEvent)));
     when(eventsMapper.toDto(testEvent)).thenReturn(testEventDto);
 
-    List<EventsDto> result = eventsService.findByHostUuid(testHostId);
+    List<EventsDto> result = eventsService.findByHostUuid(testHostId, 1, 500);
 
-    assertThat(result).hasSize(1);
-    assertThat(result.get(0)).isEqualTo(testEventDto);
-    verify(eventsRepository).findAll();
-    verify(eventsMapper).toDto(testEvent);
-    verify(eventsMapper, never()).toDto(anotherEvent);
+    assertThat(result).containsExactly(testEventDto);
+    ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+    verify(eventsRepository).findByHostId(eq(testHostId), pageable.capture());
+    assertThat(pageable.getValue().getPageNumber()).isEqualTo(1);
+    assertThat(pageable.getValue().getPageSize()).isEqualTo(EventsService.MAX_PAGE_SIZE);
+    assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by("startTime", "id"));
+    verify(eventsRepository, never()).findAll();
   }
 
   @Test
   @DisplayName("findByHostUuid - no events for host - returns empty list")
   void findByHostUuid_noEventsForHost_returnsEmptyList() {
-    Events anotherEvent = createTestEvent();
-    anotherEvent.setHostId(UUID.randomUUID()); // Different host
-
-    when(eventsRepository.findAll()).thenReturn(Arrays.asList(anotherEvent));
+    when(eventsRepository.findByHostId(eq(testHostId), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of()));
 
-    List<EventsDto> result = eventsService.findByHostUuid(testHostId);
+    List<EventsDto> result = eventsService.findByHostUuid(testHostId, 0, 20);
 
     assertThat(result).isEmpty();
-    verify(eventsRepository).findAll();
+    verify(eventsRepository, never()).findAll();
     verifyNoInteractions(eventsMapper);
   }
 
+  @Test
+  @DisplayName("findByHostUuid - negative page - throws exception")
+  void findByHostUuid_negativePage_throwsException() {
+    assertThatThrownBy(() -> eventsService.findByHostUuid(testHostId, -1, 20))
+        .isInstanceOf(InvalidDataException.class)
+        .hasMessageContaining("Page must not be negative");
+
+    verifyNoInteractions(eventsRepository);
+  }
+
   @Test
   @DisplayName("validateEventData - null times - no exception")
   void validateEventData_nullTimes_noException() {
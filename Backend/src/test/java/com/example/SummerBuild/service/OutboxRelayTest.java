@@ -0,0 +1,255 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.config.KafkaConfig;
+import com.example.SummerBuild.dto.DomainEventMessage;
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.model.DomainEventType;
+import com.example.SummerBuild.repository.OutboxRepository;
+import com.example.SummerBuild.util.DomainEventDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.StreamSupport;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Records outbox rows in real transactions and relays them to an embedded broker. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EmbeddedKafka(partitions = 1, topics = OutboxRelayTest.TOPIC)
+@TestPropertySource(
+    properties = {
+      "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+      "spring.kafka.consumer.group-id=outbox-relay-test",
+      "outbox.topic=" + OutboxRelayTest.TOPIC,
+      "outbox.relay.batch-size=2"
+    })
+@Import({OutboxService.class, OutboxRelay.class, KafkaConfig.class, JacksonAutoConfiguration.class})
+// Rows must commit before the relay's own transaction can see them
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest extends AbstractPostgresTest {
+
+  static final String TOPIC = "outbox-relay-test";
+
+  @Autowired private OutboxService outboxService;
+  @Autowired private OutboxRelay outboxRelay;
+  @Autowired private OutboxRepository outboxRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private EmbeddedKafkaBroker broker;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  private TransactionTemplate transactionTemplate;
+  private Consumer<String, DomainEventMessage> consumer;
+
+  @BeforeEach
+  void setUp() {
+    outboxRepository.deleteAll();
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-relay-test", "false", broker);
+    consumer =
+        new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), new DomainEventDeserializer())
+            .createConsumer();
+    broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+    // Only what this test publishes, not the records left by the ones before it
+    consumer.seekToEnd(consumer.assignment());
+    consumer.assignment().forEach(consumer::position);
+  }
+
+  @AfterEach
+  void tearDown() {
+    consumer.close();
+  }
+
+  @Test
+  @DisplayName("relay - committed rows are published in order, keyed by event, then deleted")
+  void relay_committedRows_publishedAndDeleted() {
+    DomainEventPayload.Event first = event("First");
+    DomainEventPayload.Event second = event("Second");
+    DomainEventPayload.Participant participant =
+        new DomainEventPayload.Participant(UUID.randomUUID(), UUID.randomUUID(), first.id());
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          outboxService.record(DomainEventType.EVENT_CREATED, first);
+          outboxService.record(DomainEventType.PARTICIPANT_ADDED, participant);
+          outboxService.record(DomainEventType.EVENT_CREATED, second);
+        });
+
+    // Three rows with a batch size of two also exercises the drain loop
+    outboxRelay.relay();
+
+    List<ConsumerRecord<String, DomainEventMessage>> records =
+        StreamSupport.stream(
+                KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 3)
+                    .records(TOPIC)
+                    .spliterator(),
+                false)
+            .toList();
+    assertThat(records)
+        .extracting(ConsumerRecord::key)
+        .containsExactly(first.id().toString(), first.id().toString(), second.id().toString());
+    // The typed payloads survive the trip through the outbox's JSON and the binary encoding
+    assertThat(records)
+        .extracting(record -> record.value().getPayload())
+        .containsExactly(first, participant, second);
+    assertThat(records.get(1).value().getType()).isEqualTo(DomainEventType.PARTICIPANT_ADDED);
+    assertThat(outboxRepository.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("relay - an unreadable row is parked and does not hold up the others")
+  void relay_unreadableRow_parked() {
+    jdbcTemplate.update(
+        "INSERT INTO outbox (aggregate_id, event_type, payload) VALUES (?, 'EVENT_CREATED', '[]')",
+        UUID.randomUUID());
+    DomainEventPayload.Event event = event("After");
+    transactionTemplate.executeWithoutResult(
+        status -> outboxService.record(DomainEventType.EVENT_CREATED, event));
+
+    outboxRelay.relay();
+
+    assertThat(KafkaTestUtils.getSingleRecord(consumer, TOPIC, Duration.ofSeconds(10)).key())
+        .isEqualTo(event.id().toString());
+    assertThat(outboxRepository.findAll())
+        .singleElement()
+        .satisfies(row -> assertThat(row.getParkedAt()).isNotNull());
+  }
+
+  @Test
+  @DisplayName("relay - waits while another instance holds a lease, takes over once it expires")
+  void relay_liveLease_waitsForExpiry() {
+    transactionTemplate.executeWithoutResult(
+        status -> outboxService.record(DomainEventType.EVENT_DELETED, deleted()));
+    jdbcTemplate.update("UPDATE outbox SET claimed_until = now() + interval '1 hour'");
+
+    outboxRelay.relay();
+    assertThat(outboxRepository.count()).isEqualTo(1);
+
+    jdbcTemplate.update("UPDATE outbox SET claimed_until = now() - interval '1 second'");
+    outboxRelay.relay();
+    assertThat(outboxRepository.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("relay - failed sends are retried on the next run, then parked")
+  void relay_failedSends_retriedThenParked() {
+    @SuppressWarnings("unchecked")
+    KafkaTemplate<String, DomainEventMessage> unreachable = mock(KafkaTemplate.class);
+    when(unreachable.send(anyString(), anyString(), any(DomainEventMessage.class)))
+        .thenReturn(CompletableFuture.failedFuture(new KafkaException("Broker down")));
+    OutboxRelay relay =
+        new OutboxRelay(
+            outboxRepository,
+            unreachable,
+            objectMapper,
+            transactionManager,
+            TOPIC,
+            2,
+            Duration.ofSeconds(1),
+            Duration.ofMinutes(2),
+            2);
+    transactionTemplate.executeWithoutResult(
+        status -> outboxService.record(DomainEventType.EVENT_DELETED, deleted()));
+
+    relay.relay();
+    assertThat(outboxRepository.findAll())
+        .singleElement()
+        .satisfies(
+            row -> {
+              assertThat(row.getAttempts()).isEqualTo(1);
+              assertThat(row.getClaimedUntil()).isNull();
+              assertThat(row.getParkedAt()).isNull();
+            });
+
+    relay.relay();
+    relay.relay();
+    verify(unreachable, times(2)).send(anyString(), anyString(), any(DomainEventMessage.class));
+    assertThat(outboxRepository.findAll())
+        .singleElement()
+        .satisfies(row -> assertThat(row.getParkedAt()).isNotNull());
+  }
+
+  @Test
+  @DisplayName("record - a rolled back change leaves nothing to publish")
+  void record_rolledBack_leavesNoRow() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          outboxService.record(DomainEventType.EVENT_DELETED, deleted());
+          status.setRollbackOnly();
+        });
+
+    assertThat(outboxRepository.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("record - refuses to run outside the transaction of the change")
+  void record_withoutTransaction_throws() {
+    assertThatThrownBy(() -> outboxService.record(DomainEventType.EVENT_DELETED, deleted()))
+        .isInstanceOf(IllegalTransactionStateException.class);
+  }
+
+  @Test
+  @DisplayName("record - rejects a payload of another type")
+  void record_mismatchedPayload_throws() {
+    assertThatThrownBy(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> outboxService.record(DomainEventType.EVENT_CREATED, deleted())))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private DomainEventPayload.Event event(String title) {
+    LocalDateTime start = LocalDateTime.of(2026, 7, 1, 18, 0);
+    return new DomainEventPayload.Event(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        title,
+        null,
+        50,
+        start,
+        start.plusHours(2),
+        List.of("music", "outdoor"));
+  }
+
+  private DomainEventPayload.EventDeleted deleted() {
+    return new DomainEventPayload.EventDeleted(UUID.randomUUID());
+  }
+}
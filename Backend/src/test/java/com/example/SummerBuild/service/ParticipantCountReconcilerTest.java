@@ -0,0 +1,108 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.mapper.ParticipatesMapper;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  ParticipantCountReconciler.class,
+  ParticipatesService.class,
+  ParticipatesMapper.class,
+  OutboxService.class,
+  EntityCacheEvictor.class,
+  EventDetailsCache.class,
+  SimpleMeterRegistry.class,
+  JacksonAutoConfiguration.class
+})
+// The reconciler recounts in its own transactions, so the fixture must be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipantCountReconcilerTest extends AbstractPostgresTest {
+
+  @Autowired private ParticipantCountReconciler reconciler;
+  @Autowired private ParticipatesService participatesService;
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UUID eventId;
+  private UUID userId1, userId2;
+
+  @BeforeEach
+  void setUp() {
+    UUID hostId = saveUser();
+    eventId =
+        eventsRepository
+            .save(
+                Events.builder()
+                    .title("Reconciled Event")
+                    .hostId(hostId)
+                    .capacity(10)
+                    .startTime(LocalDateTime.now().plusDays(1))
+                    .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                    .build())
+            .getId();
+    userId1 = saveUser();
+    userId2 = saveUser();
+    participatesService.addParticipation(userId1, eventId);
+    participatesService.addParticipation(userId2, eventId);
+  }
+
+  @AfterEach
+  void tearDown() {
+    eventsRepository.deleteById(eventId);
+  }
+
+  @Test
+  @DisplayName("reconcile - counters written outside the service are repaired")
+  void reconcile_driftedCounters_areRecounted() {
+    // Simulate writes that bypassed ParticipatesService
+    jdbcTemplate.update("UPDATE events SET seats_taken = 9 WHERE id = ?", eventId);
+    jdbcTemplate.update(
+        "DELETE FROM participates WHERE user_id = ? AND event_id = ?", userId2, eventId);
+
+    reconciler.reconcile();
+
+    assertThat(participatesService.getParticipantCount(eventId)).isEqualTo(1);
+    assertThat(participatesService.getUserEventCount(userId1)).isEqualTo(1);
+    assertThat(participatesService.getUserEventCount(userId2)).isZero();
+    assertThat(eventsRepository.findIdsWithSeatsTakenDrift()).doesNotContain(eventId);
+    assertThat(userRepository.findIdsWithEventsJoinedDrift()).doesNotContain(userId2);
+  }
+
+  @Test
+  @DisplayName("reconcile - consistent counters are left untouched")
+  void reconcile_consistentCounters_noRepair() {
+    assertThat(participatesService.reconcileParticipantCount(eventId)).isFalse();
+    assertThat(participatesService.reconcileUserEventCount(userId1)).isFalse();
+    assertThat(participatesService.getParticipantCount(eventId)).isEqualTo(2);
+  }
+
+  // User ids are assigned by Supabase, so users are inserted directly
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
@@ -0,0 +1,158 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.mapper.ParticipatesMapper;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import com.example.SummerBuild.service.ParticipatesService.EventFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Registers many users for one event at once and checks it is never oversold. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  ParticipatesService.class,
+  ParticipatesMapper.class,
+  OutboxService.class,
+  EntityCacheEvictor.class,
+  EventDetailsCache.class,
+  SimpleMeterRegistry.class,
+  JacksonAutoConfiguration.class
+})
+// Each registration must commit on its own thread, outside a test-managed transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipatesServiceConcurrencyTest extends AbstractPostgresTest {
+
+  private static final int CAPACITY = 25;
+  private static final int REGISTRATIONS = 200;
+
+  @Autowired private ParticipatesService participatesService;
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private ParticipatesRepository participatesRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UUID eventId;
+  private List<UUID> userIds;
+
+  @BeforeEach
+  void setUp() {
+    UUID hostId = saveUser();
+    eventId =
+        eventsRepository
+            .save(
+                Events.builder()
+                    .title("Ticket Drop")
+                    .hostId(hostId)
+                    .capacity(CAPACITY)
+                    .startTime(LocalDateTime.now().plusDays(1))
+                    .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                    .build())
+            .getId();
+    userIds = new ArrayList<>();
+    for (int i = 0; i < REGISTRATIONS; i++) {
+      userIds.add(saveUser());
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    eventsRepository.deleteById(eventId);
+  }
+
+  @Test
+  @DisplayName("addParticipation - concurrent registrations fill the event exactly to capacity")
+  void addParticipation_concurrentSurge_neverOversells() throws Exception {
+    AtomicInteger registered = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (UUID userId : userIds) {
+      tasks.add(
+          () -> {
+            start.await();
+            try {
+              participatesService.addParticipation(userId, eventId);
+              registered.incrementAndGet();
+            } catch (EventFullException e) {
+              rejected.incrementAndGet();
+            }
+            return null;
+          });
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(32);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (Callable<Void> task : tasks) {
+        futures.add(pool.submit(task));
+      }
+      start.countDown();
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    assertThat(registered.get()).isEqualTo(CAPACITY);
+    assertThat(rejected.get()).isEqualTo(REGISTRATIONS - CAPACITY);
+    assertThat(participatesRepository.countParticipantsByEventId(eventId)).isEqualTo(CAPACITY);
+    assertThat(eventsRepository.findById(eventId).orElseThrow().getSeatsTaken())
+        .isEqualTo(CAPACITY);
+    assertThat(userIds)
+        .extracting(userId -> userRepository.findEventsJoinedById(userId).orElseThrow())
+        .containsOnly(0, 1)
+        .filteredOn(joined -> joined == 1)
+        .hasSize(CAPACITY);
+  }
+
+  @Test
+  @DisplayName("removeParticipation - frees the seat for the next registration")
+  void removeParticipation_fullEvent_freesSeat() {
+    for (UUID userId : userIds.subList(0, CAPACITY)) {
+      participatesService.addParticipation(userId, eventId);
+    }
+
+    participatesService.removeParticipation(userIds.get(0), eventId);
+    participatesService.addParticipation(userIds.get(CAPACITY), eventId);
+
+    assertThat(eventsRepository.findById(eventId).orElseThrow().getSeatsTaken())
+        .isEqualTo(CAPACITY);
+  }
+
+  // User ids are assigned by Supabase, so users are inserted directly
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
@@ -0,0 +1,213 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.dto.ParticipatesDto;
+import com.example.SummerBuild.mapper.ParticipatesMapper;
+import com.example.SummerBuild.model.DomainEventType;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.Participates;
+import com.example.SummerBuild.model.User;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import com.example.SummerBuild.service.ParticipatesService.EventFullException;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipatesServiceTest {
+
+  @Mock private ParticipatesRepository participatesRepository;
+  @Mock private ParticipatesMapper participatesMapper;
+  @Mock private EventsRepository eventsRepository;
+  @Mock private UserRepository userRepository;
+  @Mock private OutboxService outboxService;
+  @Mock private EntityCacheEvictor entityCacheEvictor;
+  @Mock private EventDetailsCache eventDetailsCache;
+
+  @InjectMocks private ParticipatesService participatesService;
+
+  private UUID userId;
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    userId = UUID.randomUUID();
+    eventId = UUID.randomUUID();
+  }
+
+  @Test
+  @DisplayName("addParticipation - reserves a seat, then saves the participation")
+  void addParticipation_seatAvailable_savesParticipation() {
+    Participates saved = Participates.builder().userId(userId).eventId(eventId).build();
+    ParticipatesDto dto = ParticipatesDto.builder().userId(userId).eventId(eventId).build();
+    when(participatesRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+    when(eventsRepository.reserveSeat(eventId)).thenReturn(1);
+    when(participatesRepository.saveAndFlush(any(Participates.class))).thenReturn(saved);
+    when(participatesMapper.toDto(saved)).thenReturn(dto);
+
+    assertThat(participatesService.addParticipation(userId, eventId)).isEqualTo(dto);
+
+    var inOrder = inOrder(eventsRepository, participatesRepository, userRepository, outboxService);
+    inOrder.verify(eventsRepository).reserveSeat(eventId);
+    inOrder.verify(participatesRepository).saveAndFlush(any(Participates.class));
+    inOrder.verify(userRepository).incrementEventsJoined(userId);
+    inOrder
+        .verify(outboxService)
+        .record(
+            DomainEventType.PARTICIPANT_ADDED,
+            new DomainEventPayload.Participant(null, userId, eventId));
+  }
+
+  @Test
+  @DisplayName("addParticipation - already participating, no seat is reserved")
+  void addParticipation_alreadyParticipating_throwsException() {
+    when(participatesRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(true);
+
+    assertThatThrownBy(() -> participatesService.addParticipation(userId, eventId))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("User is already participating in this event");
+
+    verifyNoInteractions(eventsRepository);
+    verify(participatesRepository, never()).saveAndFlush(any());
+  }
+
+  @Test
+  @DisplayName("addParticipation - no seat left")
+  void addParticipation_eventFull_throwsEventFullException() {
+    when(participatesRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+    when(eventsRepository.reserveSeat(eventId)).thenReturn(0);
+    when(eventsRepository.existsById(eventId)).thenReturn(true);
+
+    assertThatThrownBy(() -> participatesService.addParticipation(userId, eventId))
+        .isInstanceOf(EventFullException.class)
+        .hasMessage("Event is full");
+
+    verify(participatesRepository, never()).saveAndFlush(any());
+    verifyNoInteractions(userRepository, outboxService);
+  }
+
+  @Test
+  @DisplayName("addParticipation - unknown event")
+  void addParticipation_eventNotFound_throwsException() {
+    when(participatesRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+    when(eventsRepository.reserveSeat(eventId)).thenReturn(0);
+    when(eventsRepository.existsById(eventId)).thenReturn(false);
+
+    assertThatThrownBy(() -> participatesService.addParticipation(userId, eventId))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Event not found");
+  }
+
+  @Test
+  @DisplayName("addParticipation - concurrent duplicate caught by the unique constraint")
+  void addParticipation_constraintViolation_throwsException() {
+    when(participatesRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+    when(eventsRepository.reserveSeat(eventId)).thenReturn(1);
+    when(participatesRepository.saveAndFlush(any(Participates.class)))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+    assertThatThrownBy(() -> participatesService.addParticipation(userId, eventId))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasCauseInstanceOf(DataIntegrityViolationException.class);
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  @DisplayName("removeParticipation - deletes the participation and releases its seat")
+  void removeParticipation_existing_releasesSeat() {
+    Participates participation = Participates.builder().userId(userId).eventId(eventId).build();
+    when(participatesRepository.findByUserIdAndEventId(userId, eventId))
+        .thenReturn(Optional.of(participation));
+
+    participatesService.removeParticipation(userId, eventId);
+
+    verify(participatesRepository).delete(participation);
+    verify(eventsRepository).releaseSeat(eventId);
+    verify(userRepository).decrementEventsJoined(userId);
+    verify(entityCacheEvictor).evictAfterCommit(Events.class, eventId);
+    verify(entityCacheEvictor).evictAfterCommit(User.class, userId);
+    verify(eventDetailsCache).invalidateAfterCommit(eventId);
+    verify(outboxService)
+        .record(
+            DomainEventType.PARTICIPANT_REMOVED,
+            new DomainEventPayload.Participant(null, userId, eventId));
+  }
+
+  @Test
+  @DisplayName("removeParticipation - not participating, no seat is released")
+  void removeParticipation_notParticipating_throwsException() {
+    when(participatesRepository.findByUserIdAndEventId(userId, eventId))
+        .thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> participatesService.removeParticipation(userId, eventId))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("User is not participating in this event");
+
+    verifyNoInteractions(eventsRepository, userRepository);
+  }
+
+  @Test
+  @DisplayName("getParticipantCount - reads the event's counter instead of counting rows")
+  void getParticipantCount_readsCounter() {
+    when(eventsRepository.findSeatsTakenById(eventId)).thenReturn(Optional.of(7));
+
+    assertThat(participatesService.getParticipantCount(eventId)).isEqualTo(7);
+
+    verifyNoInteractions(participatesRepository);
+  }
+
+  @Test
+  @DisplayName("getParticipantCount - unknown event counts zero")
+  void getParticipantCount_unknownEvent_returnsZero() {
+    when(eventsRepository.findSeatsTakenById(eventId)).thenReturn(Optional.empty());
+
+    assertThat(participatesService.getParticipantCount(eventId)).isZero();
+  }
+
+  @Test
+  @DisplayName("getUserEventCount - reads the user's counter instead of counting rows")
+  void getUserEventCount_readsCounter() {
+    when(userRepository.findEventsJoinedById(userId)).thenReturn(Optional.of(3));
+
+    assertThat(participatesService.getUserEventCount(userId)).isEqualTo(3);
+
+    verifyNoInteractions(participatesRepository);
+  }
+
+  @Test
+  @DisplayName("reconcileParticipantCount - locks the event before recounting")
+  void reconcileParticipantCount_locksThenRecounts() {
+    when(eventsRepository.lockById(eventId)).thenReturn(Optional.of(eventId));
+    when(eventsRepository.recountSeatsTaken(eventId)).thenReturn(1);
+
+    assertThat(participatesService.reconcileParticipantCount(eventId)).isTrue();
+
+    var inOrder = inOrder(eventsRepository);
+    inOrder.verify(eventsRepository).lockById(eventId);
+    inOrder.verify(eventsRepository).recountSeatsTaken(eventId);
+    verify(entityCacheEvictor).evictAfterCommit(Events.class, eventId);
+  }
+
+  @Test
+  @DisplayName("reconcileUserEventCount - deleted user is skipped")
+  void reconcileUserEventCount_unknownUser_skipsRecount() {
+    when(userRepository.lockById(userId)).thenReturn(Optional.empty());
+
+    assertThat(participatesService.reconcileUserEventCount(userId)).isFalse();
+
+    verify(userRepository, never()).recountEventsJoined(any());
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SummerBuild.dto.RegistrationRequest;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationQueueListenerTest {
+
+  @Mock private RegistrationQueueService registrationQueueService;
+  @Mock private Acknowledgment acknowledgment;
+
+  @InjectMocks private RegistrationQueueListener listener;
+
+  private final UUID eventId = UUID.randomUUID();
+  private RegistrationRequest first;
+  private RegistrationRequest faulty;
+  private RegistrationRequest last;
+  private List<ConsumerRecord<String, Object>> records;
+
+  @BeforeEach
+  void setUp() {
+    first = request();
+    faulty = request();
+    last = request();
+    records = List.of(record(0, first), record(1, faulty), record(2, last));
+  }
+
+  @Test
+  @DisplayName("onRegistrations - a database outage is retried from the event's first request")
+  void onRegistrations_transientFailure_blamesNoRequest() {
+    when(registrationQueueService.applyBatch(eq(eventId), anyList()))
+        .thenThrow(new QueryTimeoutException("Statement timed out"));
+
+    BatchListenerFailedException failure =
+        catchThrowableOfType(
+            BatchListenerFailedException.class,
+            () -> listener.onRegistrations(records, acknowledgment));
+
+    assertThat(failure)
+        .isNotInstanceOf(RegistrationQueueListener.UnprocessableRegistrationException.class);
+    assertThat(failure.getRecord()).isSameAs(records.get(0));
+    verify(registrationQueueService, times(1)).applyBatch(eq(eventId), anyList());
+    verify(acknowledgment, never()).acknowledge();
+  }
+
+  @Test
+  @DisplayName(
+      "onRegistrations - a failing batch is applied one by one and only the culprit blamed")
+  void onRegistrations_faultyRequest_blamesItAlone() {
+    when(registrationQueueService.applyBatch(eq(eventId), anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<RegistrationRequest> batch = invocation.getArgument(1);
+              if (batch.contains(faulty)) {
+                throw new DataIntegrityViolationException("Rejected by the database");
+              }
+              return batch.size();
+            });
+
+    RegistrationQueueListener.UnprocessableRegistrationException failure =
+        catchThrowableOfType(
+            RegistrationQueueListener.UnprocessableRegistrationException.class,
+            () -> listener.onRegistrations(records, acknowledgment));
+
+    assertThat(failure.getRecord()).isSameAs(records.get(1));
+    verify(registrationQueueService).applyBatch(eventId, List.of(first));
+    verify(registrationQueueService, never()).applyBatch(eventId, List.of(last));
+    verify(acknowledgment, never()).acknowledge();
+  }
+
+  @Test
+  @DisplayName("onRegistrations - a batch failure no single request repeats blames none of them")
+  void onRegistrations_batchOnlyFailure_appliesOneByOne() {
+    when(registrationQueueService.applyBatch(eq(eventId), anyList()))
+        .thenThrow(new IllegalStateException("Seats changed under its lock"))
+        .thenReturn(1);
+
+    listener.onRegistrations(records, acknowledgment);
+
+    verify(registrationQueueService).applyBatch(eventId, List.of(first));
+    verify(registrationQueueService).applyBatch(eventId, List.of(faulty));
+    verify(registrationQueueService).applyBatch(eventId, List.of(last));
+    verify(acknowledgment).acknowledge();
+  }
+
+  private RegistrationRequest request() {
+    return new RegistrationRequest(
+        UUID.randomUUID(), UUID.randomUUID(), eventId, LocalDateTime.now());
+  }
+
+  private ConsumerRecord<String, Object> record(long offset, RegistrationRequest request) {
+    return new ConsumerRecord<>("registrations", 0, offset, eventId.toString(), request);
+  }
+}
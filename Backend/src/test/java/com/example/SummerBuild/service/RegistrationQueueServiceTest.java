@@ -0,0 +1,351 @@
+package com.example.SummerBuild.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.SummerBuild.config.AbstractPostgresTest;
+import com.example.SummerBuild.config.KafkaConfig;
+import com.example.SummerBuild.dto.RegistrationRequest;
+import com.example.SummerBuild.dto.RegistrationTicketDto;
+import com.example.SummerBuild.model.Events;
+import com.example.SummerBuild.model.RegistrationStatus;
+import com.example.SummerBuild.repository.EventsRepository;
+import com.example.SummerBuild.repository.ParticipatesRepository;
+import com.example.SummerBuild.repository.RegistrationTicketRepository;
+import com.example.SummerBuild.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Applies queued registrations against Postgres, directly and through an embedded broker. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EmbeddedKafka(
+    partitions = 2,
+    topics = {RegistrationQueueServiceTest.TOPIC, RegistrationQueueServiceTest.TOPIC + ".DLT"})
+@TestPropertySource(
+    properties = {
+      "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+      "spring.kafka.consumer.group-id=registration-queue-test",
+      "participates.registration.queue.enabled=true",
+      "participates.registration.queue.topic=" + RegistrationQueueServiceTest.TOPIC
+    })
+@Import({
+  RegistrationQueueService.class,
+  RegistrationQueueListener.class,
+  OutboxService.class,
+  EntityCacheEvictor.class,
+  EventDetailsCache.class,
+  SimpleMeterRegistry.class,
+  KafkaConfig.class,
+  JacksonAutoConfiguration.class
+})
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+// Batches commit in their own transactions, as they do on the listener thread
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegistrationQueueServiceTest extends AbstractPostgresTest {
+
+  static final String TOPIC = "registration-queue-test";
+
+  @Autowired private RegistrationQueueService registrationQueueService;
+  @Autowired private EventsRepository eventsRepository;
+  @Autowired private ParticipatesRepository participatesRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RegistrationTicketRepository registrationTicketRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EmbeddedKafkaBroker broker;
+
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    eventId = saveEvent(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    registrationTicketRepository.deleteAll();
+    eventsRepository.deleteById(eventId);
+  }
+
+  @Test
+  @DisplayName("applyBatch - fills the event in arrival order and records every outcome")
+  void applyBatch_mixedRequests_recordsOutcomes() {
+    UUID first = saveUser();
+    UUID second = saveUser();
+    UUID late = saveUser();
+    List<RegistrationRequest> batch =
+        List.of(
+            request(first),
+            request(first),
+            request(UUID.randomUUID()),
+            request(second),
+            request(late));
+
+    assertThat(registrationQueueService.applyBatch(eventId, batch)).isEqualTo(5);
+
+    assertThat(batch)
+        .extracting(r -> registrationQueueService.getTicket(r.getTicketId()).getStatus())
+        .containsExactly(
+            RegistrationStatus.REGISTERED,
+            RegistrationStatus.REJECTED,
+            RegistrationStatus.REJECTED,
+            RegistrationStatus.REGISTERED,
+            RegistrationStatus.EVENT_FULL);
+    RegistrationTicketDto registered =
+        registrationQueueService.getTicket(batch.get(0).getTicketId());
+    assertThat(participatesRepository.findById(registered.getParticipationId())).isPresent();
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(2);
+    assertThat(userRepository.findEventsJoinedById(first)).contains(1);
+    assertThat(userRepository.findEventsJoinedById(late)).contains(0);
+  }
+
+  @Test
+  @DisplayName("applyBatch - a redelivered batch changes nothing")
+  void applyBatch_redelivered_isSkipped() {
+    List<RegistrationRequest> batch = List.of(request(saveUser()));
+    registrationQueueService.applyBatch(eventId, batch);
+
+    assertThat(registrationQueueService.applyBatch(eventId, batch)).isZero();
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(1);
+    assertThat(participatesRepository.findByEventId(eventId)).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("applyBatch - unknown event rejects every request")
+  void applyBatch_unknownEvent_rejects() {
+    RegistrationRequest request =
+        new RegistrationRequest(
+            UUID.randomUUID(), saveUser(), UUID.randomUUID(), LocalDateTime.now());
+
+    registrationQueueService.applyBatch(request.getEventId(), List.of(request));
+
+    RegistrationTicketDto ticket = registrationQueueService.getTicket(request.getTicketId());
+    assertThat(ticket.getStatus()).isEqualTo(RegistrationStatus.REJECTED);
+    assertThat(ticket.getMessage()).isEqualTo("Event not found");
+  }
+
+  @Test
+  @DisplayName("rejectUnprocessable - a dead-lettered request's ticket no longer stays PENDING")
+  void rejectUnprocessable_pending_rejected() {
+    RegistrationRequest pending = request(saveUser());
+    jdbcTemplate.update(
+        "INSERT INTO registration_tickets (id, user_id, event_id, status)"
+            + " VALUES (?, ?, ?, 'PENDING')",
+        pending.getTicketId(),
+        pending.getUserId(),
+        eventId);
+    RegistrationRequest applied = request(saveUser());
+    registrationQueueService.applyBatch(eventId, List.of(applied));
+
+    registrationQueueService.rejectUnprocessable(pending);
+    registrationQueueService.rejectUnprocessable(applied);
+
+    RegistrationTicketDto rejected = registrationQueueService.getTicket(pending.getTicketId());
+    assertThat(rejected.getStatus()).isEqualTo(RegistrationStatus.REJECTED);
+    assertThat(rejected.getProcessedAt()).isNotNull();
+    assertThat(registrationQueueService.getTicket(applied.getTicketId()).getStatus())
+        .isEqualTo(RegistrationStatus.REGISTERED);
+  }
+
+  @Test
+  @DisplayName("getTicket - an id that was never issued is not found")
+  void getTicket_unknownId_throws() {
+    assertThatThrownBy(() -> registrationQueueService.getTicket(UUID.randomUUID()))
+        .isInstanceOf(RegistrationQueueService.TicketNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("purgeExpiredTickets - drops tickets past their TTL, processed or not")
+  void purgeExpiredTickets_expired_dropped() {
+    RegistrationRequest expired = request(saveUser());
+    RegistrationRequest recent = request(saveUser());
+    registrationQueueService.applyBatch(eventId, List.of(expired, recent));
+    RegistrationRequest abandoned = request(saveUser());
+    jdbcTemplate.update(
+        "INSERT INTO registration_tickets (id, user_id, event_id, status, created_at)"
+            + " VALUES (?, ?, ?, 'PENDING', now() - interval '2 days')",
+        abandoned.getTicketId(),
+        abandoned.getUserId(),
+        eventId);
+    jdbcTemplate.update(
+        "UPDATE registration_tickets SET processed_at = now() - interval '2 days' WHERE id = ?",
+        expired.getTicketId());
+
+    registrationQueueService.purgeExpiredTickets();
+
+    assertThatThrownBy(() -> registrationQueueService.getTicket(expired.getTicketId()))
+        .isInstanceOf(RegistrationQueueService.TicketNotFoundException.class);
+    assertThatThrownBy(() -> registrationQueueService.getTicket(abandoned.getTicketId()))
+        .isInstanceOf(RegistrationQueueService.TicketNotFoundException.class);
+    assertThat(registrationQueueService.getTicket(recent.getTicketId()).getStatus())
+        .isEqualTo(RegistrationStatus.REGISTERED);
+  }
+
+  @Test
+  @DisplayName("enqueue - the ticket is PENDING until the listener has applied it")
+  void enqueue_throughBroker_ticketResolves() throws InterruptedException {
+    RegistrationTicketDto ticket = registrationQueueService.enqueue(saveUser(), eventId);
+    assertThat(ticket.getStatus()).isEqualTo(RegistrationStatus.PENDING);
+
+    RegistrationTicketDto outcome = awaitOutcome(ticket.getTicketId());
+
+    assertThat(outcome.getStatus()).isEqualTo(RegistrationStatus.REGISTERED);
+    assertThat(eventsRepository.findSeatsTakenById(eventId)).contains(1);
+  }
+
+  @Test
+  @DisplayName(
+      "listener - an undeserializable record goes to the DLT, the ones after it are applied")
+  void listener_undeserializableRecord_sentToDlt() throws InterruptedException {
+    Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+    try (Producer<String, String> producer =
+        new DefaultKafkaProducerFactory<>(
+                producerProps, new StringSerializer(), new StringSerializer())
+            .createProducer()) {
+      producer.send(new ProducerRecord<>(TOPIC, eventId.toString(), "not a registration"));
+    }
+    RegistrationTicketDto ticket = registrationQueueService.enqueue(saveUser(), eventId);
+
+    RegistrationTicketDto outcome = awaitOutcome(ticket.getTicketId());
+    assertThat(outcome.getStatus()).isEqualTo(RegistrationStatus.REGISTERED);
+
+    Map<String, Object> consumerProps =
+        KafkaTestUtils.consumerProps("registration-queue-dlt-test", "false", broker);
+    try (Consumer<String, byte[]> consumer =
+        new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new ByteArrayDeserializer())
+            .createConsumer()) {
+      broker.consumeFromAnEmbeddedTopic(consumer, TOPIC + ".DLT");
+      assertThat(deadLetters(consumer))
+          .singleElement()
+          .extracting(ConsumerRecord::value)
+          .isEqualTo("not a registration".getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  @DisplayName("listener - a request that keeps failing is rejected and dead-lettered alone")
+  void listener_failingRequest_rejectedAndSentToDlt() throws InterruptedException {
+    UUID failing = saveUser();
+    jdbcTemplate.execute(
+        "CREATE FUNCTION fail_participation() RETURNS trigger AS $$ BEGIN"
+            + " IF NEW.user_id = '"
+            + failing
+            + "' THEN RAISE EXCEPTION 'participation refused'; END IF;"
+            + " RETURN NEW; END $$ LANGUAGE plpgsql");
+    jdbcTemplate.execute(
+        "CREATE TRIGGER fail_participation BEFORE INSERT ON participates"
+            + " FOR EACH ROW EXECUTE FUNCTION fail_participation()");
+    try {
+      RegistrationTicketDto refused = registrationQueueService.enqueue(failing, eventId);
+      RegistrationTicketDto accepted = registrationQueueService.enqueue(saveUser(), eventId);
+
+      RegistrationTicketDto outcome = awaitOutcome(refused.getTicketId());
+      assertThat(outcome.getStatus()).isEqualTo(RegistrationStatus.REJECTED);
+      assertThat(outcome.getMessage()).isEqualTo("Registration could not be processed");
+      assertThat(awaitOutcome(accepted.getTicketId()).getStatus())
+          .isEqualTo(RegistrationStatus.REGISTERED);
+    } finally {
+      jdbcTemplate.execute("DROP TRIGGER fail_participation ON participates");
+      jdbcTemplate.execute("DROP FUNCTION fail_participation()");
+    }
+
+    Map<String, Object> consumerProps =
+        KafkaTestUtils.consumerProps("registration-queue-failing-test", "false", broker);
+    try (Consumer<String, byte[]> consumer =
+        new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new ByteArrayDeserializer())
+            .createConsumer()) {
+      broker.consumeFromAnEmbeddedTopic(consumer, TOPIC + ".DLT");
+      assertThat(deadLetters(consumer))
+          .singleElement()
+          .extracting(record -> new String(record.value(), StandardCharsets.UTF_8))
+          .asString()
+          .contains(failing.toString());
+    }
+  }
+
+  private RegistrationTicketDto awaitOutcome(UUID ticketId) throws InterruptedException {
+    RegistrationTicketDto outcome = registrationQueueService.getTicket(ticketId);
+    long deadline = System.currentTimeMillis() + 30_000;
+    while (outcome.getStatus() == RegistrationStatus.PENDING
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+      outcome = registrationQueueService.getTicket(ticketId);
+    }
+    return outcome;
+  }
+
+  // The DLT is shared by the tests, each of which uses its own event
+  private List<ConsumerRecord<String, byte[]>> deadLetters(Consumer<String, byte[]> consumer) {
+    List<ConsumerRecord<String, byte[]>> deadLetters = new ArrayList<>();
+    long deadline = System.currentTimeMillis() + 30_000;
+    while (deadLetters.isEmpty() && System.currentTimeMillis() < deadline) {
+      for (ConsumerRecord<String, byte[]> record :
+          consumer.poll(Duration.ofMillis(500)).records(TOPIC + ".DLT")) {
+        if (eventId.toString().equals(record.key())) {
+          deadLetters.add(record);
+        }
+      }
+    }
+    return deadLetters;
+  }
+
+  private RegistrationRequest request(UUID userId) {
+    return new RegistrationRequest(UUID.randomUUID(), userId, eventId, LocalDateTime.now());
+  }
+
+  private UUID saveEvent(int capacity) {
+    return eventsRepository
+        .save(
+            Events.builder()
+                .title("Flash Sale")
+                .hostId(saveUser())
+                .capacity(capacity)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .build())
+        .getId();
+  }
+
+  // User ids are assigned by Supabase, so users are inserted directly
+  private UUID saveUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, role, gender) VALUES (?, 'ORGANIZER', 'OTHERS')", id);
+    return id;
+  }
+}
@@ -26,6 +26,7 @@ class UserServiceTest {
 
   @Mock private UserRepository userRepository;
   @Mock private UserMapper userMapper;
+  @Mock private RestTemplate restTemplate;
   @InjectMocks private UserService userService;
 
   @Captor private ArgumentCaptor<UUID> uuidCaptor;
@@ -39,7 +40,7 @@ class UserServiceTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    userService = new UserService(userRepository, userMapper);
+    userService = new UserService(userRepository, userMapper, restTemplate);
     ReflectionTestUtils.setField(userService, "service.key", "dummyservice.key");
     ReflectionTestUtils.setField(userService, "supabaseUrl", "http://dummy.supabase.io");
   }
@@ -0,0 +1,32 @@
+package com.example.SummerBuild.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+class DatabaseErrorsTest {
+
+  @Test
+  @DisplayName("isTransient - outages and lock timeouts are, also when wrapped")
+  void isTransient_outages() {
+    assertThat(DatabaseErrors.isTransient(new CannotAcquireLockException("lock timeout"))).isTrue();
+    assertThat(
+            DatabaseErrors.isTransient(
+                new IllegalStateException(
+                    "Could not apply",
+                    new CannotCreateTransactionException("Connection is not available"))))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("isTransient - failures caused by the data are not")
+  void isTransient_dataFailures() {
+    assertThat(DatabaseErrors.isTransient(new DataIntegrityViolationException("duplicate key")))
+        .isFalse();
+    assertThat(DatabaseErrors.isTransient(new IllegalStateException("Seats changed"))).isFalse();
+  }
+}
@@ -0,0 +1,114 @@
+package com.example.SummerBuild.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.dto.DomainEventMessage;
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.model.DomainEventType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Compares the binary domain event encoding with the JSON path it replaced: message size including
+ * the JsonSerializer's type headers, and serialise + deserialise round trips per second.
+ *
+ * <p>Run with {@code mvn test -Dtest=DomainEventCodecBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DomainEventCodecBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(DomainEventCodecBenchmarkTest.class);
+
+  private static final String TOPIC = "summerbuild.domain-events";
+  private static final int WARMUP = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  // The shape the relay used to publish as JSON
+  record JsonMessage(
+      long id,
+      DomainEventType type,
+      UUID aggregateId,
+      LocalDateTime occurredAt,
+      DomainEventPayload.Event payload) {}
+
+  @Test
+  void compareWithJson() {
+    LocalDateTime now = LocalDateTime.now();
+    DomainEventPayload.Event payload =
+        new DomainEventPayload.Event(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            "Summer Build Kick-off",
+            "Talks, food and a hack night",
+            200,
+            now.plusDays(7),
+            now.plusDays(7).plusHours(3),
+            List.of("tech", "networking"));
+    DomainEventMessage binary =
+        new DomainEventMessage(123_456, DomainEventType.EVENT_CREATED, now, payload);
+    JsonMessage json =
+        new JsonMessage(123_456, DomainEventType.EVENT_CREATED, payload.id(), now, payload);
+
+    DomainEventSerializer binarySerializer = new DomainEventSerializer();
+    DomainEventDeserializer binaryDeserializer = new DomainEventDeserializer();
+    JsonSerializer<JsonMessage> jsonSerializer = new JsonSerializer<>();
+    JsonDeserializer<JsonMessage> jsonDeserializer = new JsonDeserializer<>(JsonMessage.class);
+    jsonDeserializer.addTrustedPackages("*");
+
+    int binarySize = binarySerializer.serialize(TOPIC, binary).length;
+    RecordHeaders headers = new RecordHeaders();
+    int jsonSize = jsonSerializer.serialize(TOPIC, headers, json).length;
+    int headerSize = 0;
+    for (Header header : headers) {
+      headerSize += header.key().length() + header.value().length;
+    }
+
+    double binaryRate =
+        roundTripsPerSecond(
+            () -> binaryDeserializer.deserialize(TOPIC, binarySerializer.serialize(TOPIC, binary)));
+    double jsonRate =
+        roundTripsPerSecond(
+            () -> {
+              RecordHeaders h = new RecordHeaders();
+              return jsonDeserializer.deserialize(
+                  TOPIC, h, jsonSerializer.serialize(TOPIC, h, json));
+            });
+
+    logger.info(
+        "Domain event size: binary {} bytes, JSON {} bytes + {} bytes of type headers",
+        binarySize,
+        jsonSize,
+        headerSize);
+    logger.info(
+        "Round trips per second: binary {}, JSON {} ({}x)",
+        Math.round(binaryRate),
+        Math.round(jsonRate),
+        String.format("%.1f", binaryRate / jsonRate));
+
+    assertThat(binarySize).isLessThan(jsonSize);
+  }
+
+  private double roundTripsPerSecond(Supplier<Object> roundTrip) {
+    Object sink = null;
+    for (int i = 0; i < WARMUP; i++) {
+      sink = roundTrip.get();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink = roundTrip.get();
+    }
+    long elapsed = System.nanoTime() - start;
+    assertThat(sink).isNotNull();
+    return ITERATIONS * 1e9 / elapsed;
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.SummerBuild.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.SummerBuild.dto.DomainEventMessage;
+import com.example.SummerBuild.dto.DomainEventPayload;
+import com.example.SummerBuild.model.DomainEventType;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DomainEventCodecTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000);
+
+  @Test
+  @DisplayName("encode/decode - every payload type round-trips")
+  void roundTrip_allTypes() {
+    List<DomainEventMessage> messages =
+        List.of(
+            new DomainEventMessage(1, DomainEventType.EVENT_CREATED, NOW, event("Café ☕", 120)),
+            new DomainEventMessage(
+                Long.MAX_VALUE, DomainEventType.EVENT_UPDATED, NOW, event("Updated", null)),
+            new DomainEventMessage(
+                3,
+                DomainEventType.EVENT_DELETED,
+                NOW,
+                new DomainEventPayload.EventDeleted(UUID.randomUUID())),
+            new DomainEventMessage(
+                4,
+                DomainEventType.PARTICIPANT_REMOVED,
+                NOW,
+                new DomainEventPayload.Participant(
+                    UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())));
+
+    for (DomainEventMessage message : messages) {
+      assertThat(DomainEventCodec.decode(DomainEventCodec.encode(message))).isEqualTo(message);
+    }
+  }
+
+  @Test
+  @DisplayName("encode/decode - nulls and dates before the epoch survive")
+  void roundTrip_nullsAndOldDates() {
+    LocalDateTime past = LocalDateTime.of(1901, 1, 1, 0, 0);
+    DomainEventMessage message =
+        new DomainEventMessage(
+            7,
+            DomainEventType.EVENT_CREATED,
+            past,
+            new DomainEventPayload.Event(
+                UUID.randomUUID(), UUID.randomUUID(), "", null, 0, past, past, null));
+
+    assertThat(DomainEventCodec.decode(DomainEventCodec.encode(message))).isEqualTo(message);
+  }
+
+  @Test
+  @DisplayName("decode - bytes appended by a newer writer are ignored")
+  void decode_trailingFields_ignored() {
+    DomainEventMessage message =
+        new DomainEventMessage(
+            9,
+            DomainEventType.EVENT_DELETED,
+            NOW,
+            new DomainEventPayload.EventDeleted(UUID.randomUUID()));
+    byte[] encoded = DomainEventCodec.encode(message);
+    byte[] extended = Arrays.copyOf(encoded, encoded.length + 3);
+
+    assertThat(DomainEventCodec.decode(extended)).isEqualTo(message);
+  }
+
+  @Test
+  @DisplayName("decode - newer versions and truncated data are rejected")
+  void decode_unsupported_throws() {
+    byte[] encoded =
+        DomainEventCodec.encode(
+            new DomainEventMessage(1, DomainEventType.EVENT_CREATED, NOW, event("Title", 10)));
+
+    byte[] newer = encoded.clone();
+    newer[0] = DomainEventCodec.VERSION + 1;
+    assertThatThrownBy(() -> DomainEventCodec.decode(newer))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("version");
+
+    byte[] truncated = Arrays.copyOf(encoded, encoded.length - 5);
+    assertThatThrownBy(() -> new DomainEventDeserializer().deserialize("topic", truncated))
+        .isInstanceOf(SerializationException.class);
+  }
+
+  private DomainEventPayload.Event event(String title, Integer capacity) {
+    return new DomainEventPayload.Event(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        title,
+        "Bring a friend",
+        capacity,
+        NOW.plusDays(3),
+        NOW.plusDays(3).plusHours(2),
+        List.of("music", "outdoor"));
+  }
+}
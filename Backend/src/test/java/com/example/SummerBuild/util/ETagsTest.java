@@ -0,0 +1,75 @@
+package com.example.SummerBuild.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SummerBuild.dto.ParticipatesDto;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+class ETagsTest {
+
+  private static final LocalDateTime JOINED = LocalDateTime.of(2025, 7, 1, 12, 0);
+
+  @Test
+  @DisplayName("of - equal bodies share a quoted tag, different bodies do not")
+  void of_tagsBody() {
+    String tag = ETags.of("{\"title\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(tag).startsWith("\"").endsWith("\"");
+    assertThat(ETags.of("{\"title\":\"a\"}".getBytes(StandardCharsets.UTF_8))).isEqualTo(tag);
+    assertThat(ETags.of("{\"title\":\"b\"}".getBytes(StandardCharsets.UTF_8))).isNotEqualTo(tag);
+  }
+
+  @Test
+  @DisplayName("ofCollection - changes when an element is added, removed or updated")
+  void ofCollection_tracksMembership() {
+    ParticipatesDto first = participation(JOINED);
+    ParticipatesDto second = participation(JOINED.plusMinutes(1));
+    String tag = ETags.ofCollection(List.of(first, second), ParticipatesDto::getId);
+
+    assertThat(ETags.ofCollection(List.of(first, second), ParticipatesDto::getId)).isEqualTo(tag);
+    assertThat(ETags.ofCollection(List.of(second), ParticipatesDto::getId)).isNotEqualTo(tag);
+    assertThat(
+            ETags.ofCollection(
+                List.of(first, second, participation(JOINED)), ParticipatesDto::getId))
+        .isNotEqualTo(tag);
+
+    second.setUpdatedAt(JOINED.plusMinutes(2));
+    assertThat(ETags.ofCollection(List.of(first, second), ParticipatesDto::getId))
+        .isNotEqualTo(tag);
+  }
+
+  @Test
+  @DisplayName("ofCollection - an empty collection has a tag too")
+  void ofCollection_empty() {
+    assertThat(ETags.ofCollection(List.<ParticipatesDto>of(), ParticipatesDto::getId))
+        .isEqualTo(ETags.ofCollection(List.<ParticipatesDto>of(), ParticipatesDto::getId));
+  }
+
+  @Test
+  @DisplayName("validators - Last-Modified is omitted when the date is unknown")
+  void validators_withoutUpdatedAt_omitsLastModified() {
+    HttpHeaders headers =
+        ETags.validators(ResponseEntity.ok(), "\"tag\"", null).build().getHeaders();
+
+    assertThat(headers.getETag()).isEqualTo("\"tag\"");
+    assertThat(headers.containsKey(HttpHeaders.LAST_MODIFIED)).isFalse();
+  }
+
+  private static ParticipatesDto participation(LocalDateTime updatedAt) {
+    ParticipatesDto dto =
+        ParticipatesDto.builder()
+            .id(UUID.randomUUID())
+            .userId(UUID.randomUUID())
+            .eventId(UUID.randomUUID())
+            .build();
+    dto.setUpdatedAt(updatedAt);
+    return dto;
+  }
+}
@@ -0,0 +1,295 @@
+package com.example.SummerBuild.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.client.ExpectedCount.between;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.example.SummerBuild.dto.FileUploadResult;
+import com.example.SummerBuild.dto.FileUploadResult.Status;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+class FileLoaderServiceTest {
+
+  private static final String SUPABASE_URL = "http://supabase.test";
+
+  private RestTemplate restTemplate;
+  private MockRestServiceServer server;
+  private FileLoaderService fileLoaderService;
+  private UUID eventId;
+  private UUID hostId;
+
+  @BeforeEach
+  void setUp() {
+    restTemplate = new RestTemplate();
+    server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    fileLoaderService = new FileLoaderService(restTemplate, Duration.ofMinutes(1));
+    ReflectionTestUtils.setField(fileLoaderService, "supabaseUrl", SUPABASE_URL);
+    ReflectionTestUtils.setField(fileLoaderService, "supabaseApiKey", "service-key");
+    ReflectionTestUtils.setField(fileLoaderService, "uploadParallelism", 4);
+    eventId = UUID.randomUUID();
+    hostId = UUID.randomUUID();
+  }
+
+  @Test
+  @DisplayName("uploadFiles - streams the part without copying it into a byte array")
+  void uploadFiles_streamsPartContent() throws Exception {
+    byte[] body = "image-bytes".getBytes(StandardCharsets.UTF_8);
+    MockMultipartFile file = spy(new MockMultipartFile("files", "cover.png", "image/png", body));
+
+    server
+        .expect(requestTo(objectUrl("cover.png")))
+        .andExpect(method(HttpMethod.POST))
+        .andExpect(header("Authorization", "Bearer service-key"))
+        .andExpect(header("Content-Type", "image/png"))
+        .andExpect(header("Content-Length", String.valueOf(body.length)))
+        .andExpect(content().bytes(body))
+        .andRespond(withSuccess());
+
+    List<FileUploadResult> results = fileLoaderService.uploadFiles(List.of(file), eventId, hostId);
+
+    assertThat(results).extracting(FileUploadResult::getStatus).containsExactly(Status.UPLOADED);
+    server.verify();
+    verify(file, never()).getBytes();
+  }
+
+  @Test
+  @DisplayName("uploadFiles - uploads run concurrently, never above the configured parallelism")
+  void uploadFiles_manyFiles_boundedParallelism() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    restTemplate
+        .getInterceptors()
+        .add(
+            (request, body, execution) -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              try {
+                Thread.sleep(50);
+                return execution.execute(request, body);
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              } finally {
+                inFlight.decrementAndGet();
+              }
+            });
+    server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    server.expect(manyTimes(), method(HttpMethod.POST)).andRespond(withSuccess());
+
+    List<MultipartFile> files = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      files.add(new MockMultipartFile("files", "pic" + i + ".png", "image/png", new byte[] {1}));
+    }
+
+    List<FileUploadResult> results = fileLoaderService.uploadFiles(files, eventId, hostId);
+
+    assertThat(results)
+        .extracting(FileUploadResult::getFileName)
+        .containsExactlyElementsOf(files.stream().map(MultipartFile::getOriginalFilename).toList());
+    assertThat(FileUploadResult.allUploaded(results)).isTrue();
+    assertThat(maxInFlight.get()).isBetween(2, 4);
+  }
+
+  @Test
+  @DisplayName("uploadFiles - one failure skips the rest and removes files already uploaded")
+  void uploadFiles_oneFails_rollsBackOthers() {
+    ReflectionTestUtils.setField(fileLoaderService, "uploadParallelism", 1);
+    server
+        .expect(requestTo(objectUrl("bad.png")))
+        .andExpect(method(HttpMethod.POST))
+        .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+    for (String name : List.of("a.png", "c.png")) {
+      server
+          .expect(between(0, 1), requestTo(objectUrl(name)))
+          .andExpect(method(HttpMethod.POST))
+          .andRespond(withSuccess());
+      server
+          .expect(between(0, 1), requestTo(objectUrl(name)))
+          .andExpect(method(HttpMethod.DELETE))
+          .andRespond(withSuccess());
+    }
+
+    List<FileUploadResult> results =
+        fileLoaderService.uploadFiles(
+            List.of(file("a.png"), file("bad.png"), file("c.png")), eventId, hostId);
+
+    assertThat(results.get(1).getStatus()).isEqualTo(Status.FAILED);
+    assertThat(results.get(1).getMessage()).isEqualTo("Upload failed: 500");
+    // Depending on scheduling the others were either never started or uploaded and removed
+    assertThat(results)
+        .extracting(FileUploadResult::getStatus)
+        .doesNotContain(Status.UPLOADED)
+        .filteredOn(status -> status != Status.FAILED)
+        .allMatch(status -> status == Status.SKIPPED || status == Status.ROLLED_BACK);
+    server.verify();
+  }
+
+  @Test
+  @DisplayName("uploadFiles - a file replacing an existing object is kept when another fails")
+  void uploadFiles_replacedFile_notRolledBack() {
+    ReflectionTestUtils.setField(fileLoaderService, "uploadParallelism", 1);
+    server
+        .expect(requestTo(objectUrl("cover.png")))
+        .andExpect(header("x-upsert", "false"))
+        .andRespond(
+            withStatus(HttpStatus.BAD_REQUEST)
+                .body("{\"statusCode\":\"409\",\"error\":\"Duplicate\"}"));
+    server
+        .expect(requestTo(objectUrl("cover.png")))
+        .andExpect(header("x-upsert", "true"))
+        .andRespond(withSuccess());
+    server
+        .expect(requestTo(objectUrl("bad.png")))
+        .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+    // No DELETE is expected, the previous cover cannot be restored
+    List<FileUploadResult> results =
+        fileLoaderService.uploadFiles(List.of(file("cover.png"), file("bad.png")), eventId, hostId);
+
+    assertThat(results)
+        .extracting(FileUploadResult::getStatus)
+        .containsExactly(Status.REPLACED, Status.FAILED);
+    server.verify();
+  }
+
+  @Test
+  @DisplayName("uploadFiles - one failure cancels the uploads in flight")
+  void uploadFiles_oneFails_cancelsInFlight() {
+    restTemplate
+        .getInterceptors()
+        .add(
+            (request, body, execution) -> {
+              if (request.getURI().getPath().endsWith("slow.png")) {
+                try {
+                  Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                  throw new IOException("Interrupted", e);
+                }
+              }
+              return execution.execute(request, body);
+            });
+    server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    server
+        .expect(requestTo(objectUrl("bad.png")))
+        .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+    long start = System.nanoTime();
+    List<FileUploadResult> results =
+        fileLoaderService.uploadFiles(List.of(file("slow.png"), file("bad.png")), eventId, hostId);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    assertThat(results.get(0).getStatus()).isEqualTo(Status.FAILED);
+    assertThat(results.get(0).getMessage()).isEqualTo("Upload cancelled");
+    assertThat(results.get(1).getMessage()).isEqualTo("Upload failed: 500");
+  }
+
+  @Test
+  @DisplayName("uploadFiles - empty file rejects the whole batch before any upload")
+  void uploadFiles_emptyFile_uploadsNothing() {
+    MockMultipartFile empty = new MockMultipartFile("files", "empty.png", "image/png", new byte[0]);
+
+    List<FileUploadResult> results =
+        fileLoaderService.uploadFiles(List.of(file("a.png"), empty), eventId, hostId);
+
+    assertThat(results)
+        .extracting(FileUploadResult::getStatus)
+        .containsExactly(Status.SKIPPED, Status.FAILED);
+    server.verify();
+  }
+
+  @Test
+  @DisplayName("getFilePath - existence is checked with HEAD, then served from the cache")
+  void getFilePath_existingFile_headOnceThenCached() {
+    server
+        .expect(requestTo(authenticatedUrl("cover.png")))
+        .andExpect(method(HttpMethod.HEAD))
+        .andRespond(withSuccess());
+
+    String first = fileLoaderService.getFilePath(eventId.toString(), "cover.png");
+    String second = fileLoaderService.getFilePath(eventId.toString(), "cover.png");
+
+    assertThat(first)
+        .isEqualTo(
+            SUPABASE_URL + "/storage/v1/object/public/event-pictures/" + eventId + "/cover.png")
+        .isEqualTo(second);
+    server.verify();
+  }
+
+  @Test
+  @DisplayName("getFilePath - missing file is cached until it is uploaded")
+  void getFilePath_missingThenUploaded_cacheUpdated() {
+    server
+        .expect(requestTo(authenticatedUrl("cover.png")))
+        .andExpect(method(HttpMethod.HEAD))
+        .andRespond(withStatus(HttpStatus.NOT_FOUND));
+    server
+        .expect(requestTo(objectUrl("cover.png")))
+        .andExpect(method(HttpMethod.POST))
+        .andRespond(withSuccess());
+
+    assertThat(fileLoaderService.getFilePath(eventId.toString(), "cover.png")).isNull();
+    assertThat(fileLoaderService.getFilePath(eventId.toString(), "cover.png")).isNull();
+    fileLoaderService.uploadFiles(List.of(file("cover.png")), eventId, hostId);
+
+    assertThat(fileLoaderService.getFilePath(eventId.toString(), "cover.png")).isNotNull();
+    server.verify();
+  }
+
+  @Test
+  @DisplayName("deleteFile - deleted file is no longer reported as existing")
+  void deleteFile_invalidatesCache() {
+    server
+        .expect(requestTo(authenticatedUrl("cover.png")))
+        .andExpect(method(HttpMethod.HEAD))
+        .andRespond(withSuccess());
+    server
+        .expect(requestTo(objectUrl("cover.png")))
+        .andExpect(method(HttpMethod.DELETE))
+        .andRespond(withSuccess());
+
+    assertThat(fileLoaderService.deleteFile(eventId.toString(), "cover.png")).isTrue();
+
+    assertThat(fileLoaderService.getFilePath(eventId.toString(), "cover.png")).isNull();
+    assertThat(fileLoaderService.deleteFile(eventId.toString(), "cover.png")).isFalse();
+    server.verify();
+  }
+
+  private MockMultipartFile file(String name) {
+    return new MockMultipartFile("files", name, "image/png", new byte[] {1, 2, 3});
+  }
+
+  private String authenticatedUrl(String fileName) {
+    return SUPABASE_URL
+        + "/storage/v1/object/authenticated/event-pictures/"
+        + eventId
+        + "/"
+        + fileName;
+  }
+
+  private String objectUrl(String fileName) {
+    return SUPABASE_URL + "/storage/v1/object/event-pictures/" + eventId + "/" + fileName;
+  }
+}
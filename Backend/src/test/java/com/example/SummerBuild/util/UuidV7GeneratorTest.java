@@ -0,0 +1,35 @@
+package com.example.SummerBuild.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+  @Test
+  @DisplayName("next - version 7, RFC variant, current time in the first 48 bits")
+  void next_layout() {
+    long before = System.currentTimeMillis();
+    UUID uuid = UuidV7Generator.next();
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, before + 1_000);
+  }
+
+  @Test
+  @DisplayName("next - strictly increasing in database order, within one millisecond too")
+  void next_increasing() {
+    List<String> generated = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      // Postgres compares uuids byte by byte, like their hex strings
+      generated.add(UuidV7Generator.next().toString());
+    }
+
+    assertThat(generated).isSorted().doesNotHaveDuplicates();
+  }
+}